@@ -8,16 +8,14 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.media.AudioClip;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * @author Amir Ali
@@ -39,13 +37,13 @@ public final class AlertDialog extends Stage {
         var scene = new Scene(builder.container);
         setScene(scene);
         setTitle(builder.title.getText());
+        builder.dialogTitleProperty.addListener((observableValue, oldTitle, newTitle) -> setTitle(newTitle));
         initModality(Modality.APPLICATION_MODAL);
 
         // play audio when stage is shown
         addEventHandler(WindowEvent.WINDOW_SHOWN, windowEvent -> {
             if (builder.soundPath != null) {
-                var player = new AudioClip(builder.soundPath);
-                player.play();
+                SoundGovernor.play(builder.soundPath);
             }
         });
     }
@@ -100,6 +98,39 @@ public final class AlertDialog extends Stage {
         return builder.dialogMessageProperty;
     }
 
+    /**
+     * replaces the single choice items of the dialog in place, the rows are reused and the previous listener is removed
+     *
+     * @param items         text of the radio buttons
+     * @param selectedIndex selected RadioButton or -1
+     * @param listener      selected listener
+     */
+    public <T> void setSingleChoiceItems(@NotNull T[] items, int selectedIndex, @NotNull DialogInterface.OnSingleChoiceSelectedListener listener) {
+        builder.setSingleChoiceItems(items, selectedIndex, listener);
+    }
+
+    /**
+     * replaces the multi choice items of the dialog in place, the rows are reused and the previous listener is removed
+     *
+     * @param items           text of the checkboxes
+     * @param selectedIndexes selected items
+     * @param listener        selected listener
+     */
+    public <T> void setMultiChoiceItems(@NotNull T[] items, @NotNull Integer[] selectedIndexes, @NotNull DialogInterface.OnMultiChoiceSelectedListener listener) {
+        builder.setMultiChoiceItems(items, selectedIndexes, listener);
+    }
+
+    /**
+     * replaces the multi choice items of the dialog in place, the rows are reused and the previous selection model is released
+     *
+     * @param items     text of the checkboxes
+     * @param selection selection of the items
+     * @throws IllegalArgumentException if size of the selection isn't the number of the items
+     */
+    public <T> void setMultiChoiceItems(@NotNull T[] items, @NotNull ChoiceSelectionModel selection) {
+        builder.setMultiChoiceItems(items, selection);
+    }
+
     /**
      * sets the notification sound from Sounds and plays when stage is shown
      * <br>
@@ -108,7 +139,7 @@ public final class AlertDialog extends Stage {
      * @param sound default notification sounds
      */
     public void setSound(@NotNull Sounds sound) {
-        builder.soundPath = Objects.requireNonNull(getClass().getResource("sounds/" + sound.getFileName())).toExternalForm();
+        builder.soundPath = SoundCache.uriOf(sound);
     }
 
     /**
@@ -119,7 +150,7 @@ public final class AlertDialog extends Stage {
      * @param path custom file path
      */
     public void setSound(@NotNull String path) {
-        builder.soundPath = Paths.get(path).toUri().toString();
+        builder.soundPath = SoundCache.uriOf(path);
     }
 
     /**
@@ -140,6 +171,17 @@ public final class AlertDialog extends Stage {
         private final ToggleGroup toggleGroup = new ToggleGroup();
         private final VBox radioButtonsContainer = new VBox(3);
         private final VBox checkBoxesContainer = new VBox(3);
+        private Node choicesNode;
+        private int virtualizationThreshold = 200;
+        private boolean isChoiceSearchEnabled;
+        // the choice setters replace the items and the listener, the listeners of the controls are added once
+        private Object[] singleChoiceItems;
+        private DialogInterface.OnSingleChoiceSelectedListener singleChoiceListener;
+        private ChoiceSelectionModel checkBoxesSelection;
+        private final DialogInterface.OnMultiChoiceChangedListener checkBoxesListener = this::onCheckBoxesChanged;
+        private ChoiceList choiceList;
+        private Node choiceListNode;
+        private boolean isUpdatingChoices;
 
         private boolean isPositiveButtonAdded,
                 isNegativeButtonAdded,
@@ -210,6 +252,7 @@ public final class AlertDialog extends Stage {
 
             radioButtonsContainer.setPadding(new Insets(10));
             checkBoxesContainer.setPadding(new Insets(10));
+            toggleGroup.selectedToggleProperty().addListener((observableValue, oldToggle, newToggle) -> onToggleChanged(newToggle));
 
             center.setPrefWidth(400);
             center.setPadding(new Insets(10));
@@ -326,6 +369,8 @@ public final class AlertDialog extends Stage {
 
         /**
          * creates and adds RadioButton according to the items passed
+         * <br>
+         * calling it again replaces the items in place, the RadioButtons are reused and only the changed texts are set
          *
          * @param items         text of the radio buttons
          * @param selectedIndex default selected RadioButton
@@ -336,24 +381,48 @@ public final class AlertDialog extends Stage {
             if (isCheckBoxesContainerAdded || isCustomNode)
                 return this;
 
-            if (isRadioButtonsContainerAdded)
-                radioButtonsContainer.getChildren().clear();
-            for (int i = 0; i < items.length; i++) {
-                var radioButton = new RadioButton(items[i].toString());
-                radioButton.setUserData(i);
-                radioButton.setToggleGroup(toggleGroup);
-                radioButton.setSelected(selectedIndex != -1 && i == selectedIndex);
+            isRadioButtonsContainerAdded = true;
+            if (isChoiceSearchEnabled || items.length > virtualizationThreshold) {
+                if (choiceList != null && !choiceList.isMultiple()) {
+                    choiceList.setSingleChoices(items, selectedIndex, listener);
+                }else {
+                    releaseChoiceList();
+                    choiceList = ChoiceList.single(items, selectedIndex, listener);
+                    choiceListNode = withSearch(choiceList);
+                }
+                setChoicesNode(choiceListNode);
+                return this;
+            }
 
-                radioButtonsContainer.getChildren().add(radioButton);
+            releaseChoiceList();
+            singleChoiceItems = items;
+            singleChoiceListener = listener;
+            // the selection made here isn't reported to the listener
+            isUpdatingChoices = true;
+            var rows = radioButtonsContainer.getChildren();
+            if (rows.size() > items.length) {
+                var removed = rows.subList(items.length, rows.size());
+                for (Node row : removed)
+                    ((RadioButton) row).setToggleGroup(null);
+                removed.clear();
             }
-            if (!isRadioButtonsContainerAdded) {
-                center.getChildren().add(0, radioButtonsContainer);
-                isRadioButtonsContainerAdded = true;
+            var added = new ArrayList<RadioButton>();
+            for (int i = 0; i < items.length; i++) {
+                RadioButton radioButton;
+                if (i < rows.size()) {
+                    radioButton = (RadioButton) rows.get(i);
+                }else {
+                    radioButton = new RadioButton();
+                    radioButton.setUserData(i);
+                    radioButton.setToggleGroup(toggleGroup);
+                    added.add(radioButton);
+                }
+                setTextIfChanged(radioButton, items[i]);
+                radioButton.setSelected(selectedIndex != -1 && i == selectedIndex);
             }
-            toggleGroup.selectedToggleProperty().addListener((observableValue, oldToggle, newToggle) -> {
-                var index = ((int) newToggle.getUserData());
-                listener.onItemSelected(index, items[index]);
-            });
+            rows.addAll(added);
+            isUpdatingChoices = false;
+            setChoicesNode(radioButtonsContainer);
 
             return this;
         }
@@ -378,25 +447,68 @@ public final class AlertDialog extends Stage {
          * @return Builder
          */
         public <T> Builder setMultiChoiceItems(@NotNull T[] items, @NotNull Integer[] selectedIndexes, @NotNull DialogInterface.OnMultiChoiceSelectedListener listener) {
+            var selection = ChoiceSelectionModel.of(items.length, selectedIndexes);
+            selection.addListener((changed, selected) -> {
+                for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1))
+                    listener.onItemSelected(i, selected.get(i), items[i]);
+            });
+
+            return setMultiChoiceItems(items, selection);
+        }
+
+        /**
+         * creates and adds CheckBoxes according to the items passed, the CheckBoxes follow the selection model
+         * and every change is reported once to the listeners of the model
+         * <br>
+         * calling it again replaces the items in place, the CheckBoxes are reused and only the changed texts are set
+         *
+         * @param items     text of the checkboxes
+         * @param selection selection of the items
+         * @return Builder
+         * @throws IllegalArgumentException if size of the selection isn't the number of the items
+         */
+        public <T> Builder setMultiChoiceItems(@NotNull T[] items, @NotNull ChoiceSelectionModel selection) {
+            if (selection.size() != items.length)
+                throw new IllegalArgumentException("size of the selection must be the number of the items");
             if (isRadioButtonsContainerAdded || isCustomNode)
                 return this;
 
-            if (isCheckBoxesContainerAdded)
-                checkBoxesContainer.getChildren().clear();
-            for (int i = 0; i < items.length; i++) {
-                var checkBox = new CheckBox(items[i].toString());
-                for (int j : selectedIndexes) {
-                    if (i == j)
-                        checkBox.setSelected(true);
+            isCheckBoxesContainerAdded = true;
+            if (isChoiceSearchEnabled || items.length > virtualizationThreshold) {
+                bindCheckBoxes(null);
+                if (choiceList != null && choiceList.isMultiple()) {
+                    choiceList.setMultiChoices(items, selection);
+                }else {
+                    releaseChoiceList();
+                    choiceList = ChoiceList.multiple(items, selection);
+                    choiceListNode = withSearch(choiceList);
                 }
-                int finalI = i;
-                checkBox.selectedProperty().addListener((observableValue, oldValue, newValue) -> listener.onItemSelected(finalI, newValue, items[finalI]));
-                checkBoxesContainer.getChildren().add(checkBox);
+                setChoicesNode(choiceListNode);
+                return this;
             }
-            if (!isCheckBoxesContainerAdded) {
-                center.getChildren().add(0, checkBoxesContainer);
-                isCheckBoxesContainerAdded = true;
+
+            releaseChoiceList();
+            bindCheckBoxes(selection);
+            var rows = checkBoxesContainer.getChildren();
+            if (rows.size() > items.length)
+                rows.remove(items.length, rows.size());
+            var added = new ArrayList<CheckBox>();
+            for (int i = 0; i < items.length; i++) {
+                CheckBox checkBox;
+                if (i < rows.size()) {
+                    checkBox = (CheckBox) rows.get(i);
+                }else {
+                    var newCheckBox = new CheckBox();
+                    newCheckBox.setUserData(i);
+                    newCheckBox.setOnAction(event -> checkBoxesSelection.setSelected((int) newCheckBox.getUserData(), newCheckBox.isSelected()));
+                    checkBox = newCheckBox;
+                    added.add(checkBox);
+                }
+                setTextIfChanged(checkBox, items[i]);
+                checkBox.setSelected(selection.isSelected(i));
             }
+            rows.addAll(added);
+            setChoicesNode(checkBoxesContainer);
 
             return this;
         }
@@ -412,6 +524,98 @@ public final class AlertDialog extends Stage {
             return setMultiChoiceItems(items, new Integer[]{}, listener);
         }
 
+        /**
+         * sets the number of choice items that RadioButtons and CheckBoxes are created for up front,
+         * longer lists are shown in a virtualized list that only creates the visible rows
+         * <br>
+         * <b>Note:</b> must be called before setting the choice items
+         *
+         * @param threshold maximum number of the items without virtualization, 200 by default
+         * @return Builder
+         */
+        public Builder setVirtualizationThreshold(int threshold) {
+            virtualizationThreshold = Math.max(0, threshold);
+
+            return this;
+        }
+
+        /**
+         * adds a search field above the single or multi choice items that filters them as the user types.
+         * The items are indexed once on a background thread, and the selection is kept while filtering
+         * <br>
+         * <b>Note:</b> must be called before setting the choice items, the items are shown in the virtualized list
+         *
+         * @param enabled search enabled or not
+         * @return Builder
+         */
+        public Builder setChoiceSearchEnabled(boolean enabled) {
+            isChoiceSearchEnabled = enabled;
+
+            return this;
+        }
+
+        private Node withSearch(ChoiceList list) {
+            if (!isChoiceSearchEnabled)
+                return list;
+
+            var search = new TextField();
+            search.setPromptText("Search");
+            search.getStyleClass().add("choice-search");
+            search.textProperty().addListener((observableValue, oldText, newText) -> list.setFilter(newText));
+            // starts indexing before the first keystroke
+            list.setFilter(null);
+
+            return new VBox(3, search, list);
+        }
+
+        private void releaseChoiceList() {
+            if (choiceList != null)
+                choiceList.release();
+            choiceList = null;
+            choiceListNode = null;
+        }
+
+        private void bindCheckBoxes(ChoiceSelectionModel selection) {
+            if (checkBoxesSelection == selection)
+                return;
+
+            if (checkBoxesSelection != null)
+                checkBoxesSelection.removeListener(checkBoxesListener);
+            checkBoxesSelection = selection;
+            if (selection != null)
+                selection.addListener(checkBoxesListener);
+        }
+
+        private void onCheckBoxesChanged(BitSet changed, BitSet selected) {
+            var rows = checkBoxesContainer.getChildren();
+            for (int i = changed.nextSetBit(0); i >= 0 && i < rows.size(); i = changed.nextSetBit(i + 1))
+                ((CheckBox) rows.get(i)).setSelected(selected.get(i));
+        }
+
+        private void onToggleChanged(Toggle toggle) {
+            if (toggle == null || isUpdatingChoices)
+                return;
+
+            var index = (int) toggle.getUserData();
+            singleChoiceListener.onItemSelected(index, singleChoiceItems[index]);
+        }
+
+        private static void setTextIfChanged(Labeled labeled, Object item) {
+            var text = item.toString();
+            if (!text.equals(labeled.getText()))
+                labeled.setText(text);
+        }
+
+        private void setChoicesNode(Node node) {
+            if (choicesNode != node) {
+                center.getChildren().remove(choicesNode);
+                center.getChildren().add(0, node);
+                choicesNode = node;
+            }
+            if (dialog != null)
+                dialog.sizeToScene();
+        }
+
         /**
          * sets the custom node to the center of the dialog
          *
@@ -434,7 +638,7 @@ public final class AlertDialog extends Stage {
          * @return Builder
          */
         public Builder setSound(@NotNull Sounds sound) {
-            soundPath = Objects.requireNonNull(getClass().getResource("sounds/" + sound.getFileName())).toExternalForm();
+            soundPath = SoundCache.uriOf(sound);
 
             return this;
         }
@@ -448,7 +652,19 @@ public final class AlertDialog extends Stage {
          * @return Builder
          */
         public Builder setSound(@NotNull String path) {
-            soundPath = Paths.get(path).toUri().toString();
+            soundPath = SoundCache.uriOf(path);
+
+            return this;
+        }
+
+        Builder setSoundUri(String uri) {
+            soundPath = uri;
+
+            return this;
+        }
+
+        Builder addStyleClasses(List<String> styleClasses) {
+            container.getStyleClass().addAll(styleClasses);
 
             return this;
         }
@@ -0,0 +1,170 @@
+package com.amirali.fxdialogs;
+
+import javafx.application.Platform;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * @author Amir Ali
+ *
+ * n-gram index of the choice items of AlertDialog for the type-ahead search
+ * <br>
+ * every item is indexed by the characters and the trigrams of its lower case text. A query is answered by
+ * intersecting the postings of its grams and checking the few candidates left, so a keystroke doesn't call
+ * toString() on the items. A query that extends the previous one only checks the previous result.
+ */
+
+final class ChoiceIndex {
+
+    private static ExecutorService indexer;
+
+    private final String[] texts;
+    // sorted indexes of the items per gram
+    private final Map<Long, int[]> postings;
+
+    private ChoiceIndex(String[] texts, Map<Long, int[]> postings) {
+        this.texts = texts;
+        this.postings = postings;
+    }
+
+    /**
+     * builds the index of the items on a background thread
+     *
+     * @param items items
+     * @param onReady called on the JavaFX application thread with the index
+     */
+    static <T> void build(T[] items, Consumer<ChoiceIndex> onReady) {
+        ExecutorService executor;
+        synchronized (ChoiceIndex.class) {
+            if (indexer == null) {
+                indexer = Executors.newSingleThreadExecutor(runnable -> {
+                    var thread = new Thread(runnable, "fxdialogs-choice-indexer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            executor = indexer;
+        }
+
+        var snapshot = items.clone();
+        executor.execute(() -> {
+            try {
+                var index = of(snapshot);
+                Platform.runLater(() -> onReady.accept(index));
+            }catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    static <T> ChoiceIndex of(T[] items) {
+        var texts = new String[items.length];
+        var builders = new HashMap<Long, Postings>();
+        for (int i = 0; i < items.length; i++) {
+            var text = String.valueOf(items[i]).toLowerCase(Locale.ROOT);
+            texts[i] = text;
+            for (int j = 0; j < text.length(); j++) {
+                builders.computeIfAbsent(unigram(text.charAt(j)), key -> new Postings()).add(i);
+                if (j + 2 < text.length())
+                    builders.computeIfAbsent(trigram(text, j), key -> new Postings()).add(i);
+            }
+        }
+
+        var postings = new HashMap<Long, int[]>(builders.size() * 4 / 3 + 1);
+        for (Map.Entry<Long, Postings> entry : builders.entrySet())
+            postings.put(entry.getKey(), entry.getValue().toArray());
+
+        return new ChoiceIndex(texts, postings);
+    }
+
+    /**
+     * @param query lower case query, not empty
+     * @param within sorted indexes to search in, or null to search every item
+     * @return sorted indexes of the items that contain the query
+     */
+    int[] search(String query, int[] within) {
+        if (within == null)
+            within = candidates(query);
+
+        var result = new int[within.length];
+        var size = 0;
+        for (int index : within) {
+            if (texts[index].contains(query))
+                result[size++] = index;
+        }
+
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    int size() {
+        return texts.length;
+    }
+
+    private int[] candidates(String query) {
+        var grams = query.length() < 3 ? query.length() : query.length() - 2;
+        var lists = new int[grams][];
+        for (int i = 0; i < grams; i++) {
+            var list = postings.get(query.length() < 3 ? unigram(query.charAt(i)) : trigram(query, i));
+            if (list == null)
+                return new int[0];
+            lists[i] = list;
+        }
+
+        // the shortest postings first keeps the intersection small
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+        var result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++)
+            result = intersect(result, lists[i]);
+
+        return result;
+    }
+
+    private static int[] intersect(int[] small, int[] large) {
+        var result = new int[small.length];
+        var size = 0;
+        var from = 0;
+        for (int value : small) {
+            var found = Arrays.binarySearch(large, from, large.length, value);
+            if (found >= 0) {
+                result[size++] = value;
+                from = found + 1;
+            }else {
+                from = -found - 1;
+            }
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long unigram(char c) {
+        return 1L << 48 | c;
+    }
+
+    private static long trigram(String text, int from) {
+        return (long) text.charAt(from) << 32 | (long) text.charAt(from + 1) << 16 | text.charAt(from + 2);
+    }
+
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int index) {
+            // items are added in order, so a repeated gram of the same item is the last value
+            if (size > 0 && values[size - 1] == index)
+                return;
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = index;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
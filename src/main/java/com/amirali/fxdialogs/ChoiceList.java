@@ -0,0 +1,266 @@
+package com.amirali.fxdialogs;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.RadioButton;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * @author Amir Ali
+ *
+ * virtualized list of the single or multi choice items of AlertDialog
+ * <br>
+ * the list holds the indexes of the items and only the visible rows get a RadioButton or CheckBox,
+ * so building the dialog doesn't depend on the number of items. The items can be replaced in place,
+ * the rows are reused and the listeners of the previous items are removed.
+ */
+
+final class ChoiceList extends ListView<Integer> {
+
+    private final boolean multiple;
+    private Object[] items = new Object[0];
+    private ChoiceSelectionModel selection;
+    // changed on every selection change, the visible cells sync their controls with it
+    private final IntegerProperty selectionRevision = new SimpleIntegerProperty();
+    private final DialogInterface.OnMultiChoiceChangedListener selectionListener = (changed, selected) -> revise();
+    private int selectedIndex = -1;
+    private DialogInterface.OnSingleChoiceSelectedListener singleListener;
+    private ChoiceIndex index;
+    // index builds of replaced items are ignored
+    private int indexGeneration;
+    private boolean indexing, searchable;
+    // null query and result mean the list isn't filtered
+    private String filter, lastQuery;
+    private int[] lastResult;
+
+    private ChoiceList(boolean multiple) {
+        this.multiple = multiple;
+
+        getStyleClass().add(multiple ? "multi-choice-list" : "single-choice-list");
+        setPrefHeight(300);
+        setFocusTraversable(false);
+        setCellFactory(listView -> new ChoiceCell());
+    }
+
+    /**
+     * @param items items
+     * @param selectedIndex default selected item or -1
+     * @param listener selected listener
+     * @return single choice list
+     */
+    static ChoiceList single(Object[] items, int selectedIndex, DialogInterface.OnSingleChoiceSelectedListener listener) {
+        var list = new ChoiceList(false);
+        list.setSingleChoices(items, selectedIndex, listener);
+
+        return list;
+    }
+
+    /**
+     * @param items items
+     * @param selection selection of the items, changes made to it outside the list are shown too
+     * @return multi choice list
+     */
+    static ChoiceList multiple(Object[] items, ChoiceSelectionModel selection) {
+        var list = new ChoiceList(true);
+        list.setMultiChoices(items, selection);
+
+        return list;
+    }
+
+    boolean isMultiple() {
+        return multiple;
+    }
+
+    /**
+     * replaces the items of a single choice list
+     *
+     * @param items items
+     * @param selectedIndex selected item or -1
+     * @param listener selected listener
+     */
+    void setSingleChoices(Object[] items, int selectedIndex, DialogInterface.OnSingleChoiceSelectedListener listener) {
+        singleListener = listener;
+        this.selectedIndex = selectedIndex >= 0 && selectedIndex < items.length ? selectedIndex : -1;
+        setChoices(items);
+        revise();
+        if (this.selectedIndex != -1)
+            scrollTo(this.selectedIndex);
+    }
+
+    /**
+     * replaces the items of a multi choice list
+     *
+     * @param items items
+     * @param selection selection of the items
+     */
+    void setMultiChoices(Object[] items, ChoiceSelectionModel selection) {
+        if (this.selection != selection) {
+            release();
+            this.selection = selection;
+            selection.addListener(selectionListener);
+        }
+        setChoices(items);
+        revise();
+    }
+
+    /**
+     * removes the listener of the list from its selection model
+     */
+    void release() {
+        if (selection != null)
+            selection.removeListener(selectionListener);
+        selection = null;
+    }
+
+    /**
+     * shows only the items that contain the query, ignoring case. The first call builds the search index
+     * on a background thread and the query is applied when it's ready.
+     * The selection doesn't change by filtering.
+     *
+     * @param query query or empty to show every item
+     */
+    void setFilter(String query) {
+        searchable = true;
+        filter = query == null || query.isEmpty() ? null : query.toLowerCase(Locale.ROOT);
+        if (index != null) {
+            applyFilter();
+        }else if (!indexing) {
+            indexing = true;
+            var generation = indexGeneration;
+            ChoiceIndex.build(items, built -> {
+                if (generation != indexGeneration)
+                    return;
+
+                index = built;
+                applyFilter();
+            });
+        }
+    }
+
+    private void setChoices(Object[] items) {
+        var unchanged = Arrays.equals(this.items, items);
+        this.items = items;
+        if (unchanged) {
+            // same items, the index and the shown rows are still valid
+            refresh();
+            return;
+        }
+
+        indexGeneration++;
+        index = null;
+        indexing = false;
+        lastQuery = null;
+        lastResult = null;
+        // the cells are kept and only updated with the new indexes
+        setItems(FXCollections.observableList(new IndexList(null, items.length)));
+        if (searchable)
+            setFilter(filter);
+    }
+
+    private void applyFilter() {
+        if (filter == null ? lastQuery == null : filter.equals(lastQuery))
+            return;
+
+        int[] result = null;
+        if (filter != null) {
+            // a longer query only matches the items of the shorter one
+            var within = lastQuery != null && filter.contains(lastQuery) ? lastResult : null;
+            result = index.search(filter, within);
+        }
+        lastQuery = filter;
+        lastResult = result;
+        setItems(FXCollections.observableList(new IndexList(result, items.length)));
+    }
+
+    private void select(int index) {
+        if (index == selectedIndex)
+            return;
+
+        selectedIndex = index;
+        revise();
+        singleListener.onItemSelected(index, items[index]);
+    }
+
+    private void revise() {
+        selectionRevision.set(selectionRevision.get() + 1);
+    }
+
+    private final class ChoiceCell extends ListCell<Integer> {
+        private final ButtonBase control = multiple ? new CheckBox() : new RadioButton();
+        private final InvalidationListener revisionListener = observable -> sync();
+
+        private ChoiceCell() {
+            control.setOnAction(event -> {
+                var index = getItem();
+                if (index == null)
+                    return;
+
+                if (control instanceof CheckBox checkBox)
+                    selection.setSelected(index, checkBox.isSelected());
+                else
+                    select(index);
+                sync();
+            });
+            // the list throws its cells away on refresh() and filtering, a weak listener lets the old ones be collected
+            selectionRevision.addListener(new WeakInvalidationListener(revisionListener));
+        }
+
+        @Override
+        protected void updateItem(Integer index, boolean empty) {
+            super.updateItem(index, empty);
+            setText(null);
+            if (empty || index == null) {
+                setGraphic(null);
+                return;
+            }
+
+            control.setText(String.valueOf(items[index]));
+            sync();
+            setGraphic(control);
+        }
+
+        private void sync() {
+            var index = getItem();
+            if (index == null || index >= items.length)
+                return;
+
+            if (control instanceof CheckBox checkBox)
+                checkBox.setSelected(selection != null && selection.isSelected(index));
+            else
+                ((RadioButton) control).setSelected(index == selectedIndex);
+        }
+    }
+
+    // indexes of the shown items without boxing them all up front, every item if indexes is null
+    private static final class IndexList extends AbstractList<Integer> {
+        private final int[] indexes;
+        private final int size;
+
+        private IndexList(int[] indexes, int count) {
+            this.indexes = indexes;
+            this.size = indexes != null ? indexes.length : count;
+        }
+
+        @Override
+        public Integer get(int index) {
+            Objects.checkIndex(index, size);
+            return indexes != null ? indexes[index] : index;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.amirali.fxdialogs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * selection of the multi choice items of AlertDialog kept in a BitSet
+ * <br>
+ * every operation, e.g. a CheckBox toggle or select all, notifies the listeners once
+ * with the set of the indexes that changed, so select all on 10k items is one event instead of 10k.
+ * <pre>
+ * var model = new ChoiceSelectionModel(items.length, new int[]{0, 2});
+ * model.addListener((changed, selection) -> System.out.println(changed.cardinality() + " changed"));
+ * new AlertDialog.Builder().setMultiChoiceItems(items, model);
+ * model.selectAll();
+ * </pre>
+ * <b>Note:</b> the model must be changed on the JavaFX application thread once it's used by a dialog
+ */
+
+public final class ChoiceSelectionModel {
+
+    private final int size;
+    private final Selection selection = new Selection();
+    private final List<DialogInterface.OnMultiChoiceChangedListener> listeners = new ArrayList<>();
+
+    /**
+     * initial ChoiceSelectionModel without selected items
+     *
+     * @param size number of the items
+     * @throws IllegalArgumentException if size is negative
+     */
+    public ChoiceSelectionModel(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("size cannot be negative");
+
+        this.size = size;
+    }
+
+    /**
+     * initial ChoiceSelectionModel
+     *
+     * @param size number of the items
+     * @param selectedIndexes default selected items, indexes out of the range are ignored
+     * @throws IllegalArgumentException if size is negative
+     */
+    public ChoiceSelectionModel(int size, @NotNull int[] selectedIndexes) {
+        this(size);
+        for (int index : selectedIndexes) {
+            if (index >= 0 && index < size)
+                selection.setBit(index, true);
+        }
+    }
+
+    /**
+     * initial ChoiceSelectionModel
+     *
+     * @param size number of the items
+     * @param selected default selected items, bits out of the range are ignored
+     * @throws IllegalArgumentException if size is negative
+     */
+    public ChoiceSelectionModel(int size, @NotNull BitSet selected) {
+        this(size);
+        selection.orBits(selected.get(0, size));
+    }
+
+    static ChoiceSelectionModel of(int size, Integer[] selectedIndexes) {
+        var model = new ChoiceSelectionModel(size);
+        for (Integer index : selectedIndexes) {
+            if (index != null && index >= 0 && index < size)
+                model.selection.setBit(index, true);
+        }
+
+        return model;
+    }
+
+    /**
+     * number of the items
+     *
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of the item
+     * @return true if the item is selected
+     */
+    public boolean isSelected(int index) {
+        return selection.get(index);
+    }
+
+    /**
+     * selects or deselects an item
+     *
+     * @param index index of the item
+     * @param selected selected or not
+     * @throws IndexOutOfBoundsException if index is out of the range
+     */
+    public void setSelected(int index, boolean selected) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        if (selection.get(index) == selected)
+            return;
+
+        selection.setBit(index, selected);
+        var changed = new BitSet(index + 1);
+        changed.set(index);
+        fire(changed);
+    }
+
+    /**
+     * selects every item
+     */
+    public void selectAll() {
+        var changed = new BitSet(size);
+        changed.set(0, size);
+        changed.andNot(selection);
+        selection.setRange(0, size);
+        fire(changed);
+    }
+
+    /**
+     * deselects every item
+     */
+    public void clearSelection() {
+        var changed = (BitSet) selection.clone();
+        selection.clearBits();
+        fire(changed);
+    }
+
+    /**
+     * selects the items that aren't selected and deselects the others
+     */
+    public void invert() {
+        selection.flipRange(0, size);
+        var changed = new BitSet(size);
+        changed.set(0, size);
+        fire(changed);
+    }
+
+    /**
+     * number of the selected items
+     *
+     * @return int
+     */
+    public int getSelectedCount() {
+        return selection.cardinality();
+    }
+
+    /**
+     * indexes of the selected items in ascending order
+     *
+     * @return int array
+     */
+    public int[] getSelectedIndexes() {
+        return selection.stream().toArray();
+    }
+
+    /**
+     * read-only view of the selection, it follows the changes of the model
+     *
+     * @return BitSet that throws UnsupportedOperationException on modification
+     */
+    public BitSet getSelection() {
+        return selection;
+    }
+
+    /**
+     * adds a listener that is called once per change with the indexes that changed
+     *
+     * @param listener selection changed listener
+     */
+    public void addListener(@NotNull DialogInterface.OnMultiChoiceChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener selection changed listener
+     */
+    public void removeListener(@NotNull DialogInterface.OnMultiChoiceChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fire(BitSet changed) {
+        if (changed.isEmpty())
+            return;
+
+        // listeners may remove themselves
+        for (DialogInterface.OnMultiChoiceChangedListener listener : listeners.toArray(new DialogInterface.OnMultiChoiceChangedListener[0]))
+            listener.onSelectionChanged(changed, selection);
+    }
+
+    // BitSet reads its own words, so the view is the storage itself with the public mutators disabled
+    private static final class Selection extends BitSet {
+
+        private static final long serialVersionUID = 1L;
+
+        // BitSet.set(int, boolean) dispatches to set(int) and clear(int)
+        private void setBit(int index, boolean value) {
+            if (value)
+                super.set(index);
+            else
+                super.clear(index);
+        }
+
+        private void setRange(int from, int to) {
+            super.set(from, to);
+        }
+
+        private void flipRange(int from, int to) {
+            super.flip(from, to);
+        }
+
+        private void clearBits() {
+            super.clear();
+        }
+
+        private void orBits(BitSet set) {
+            super.or(set);
+        }
+
+        @Override
+        public void set(int bitIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void set(int bitIndex, boolean value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void set(int fromIndex, int toIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void set(int fromIndex, int toIndex, boolean value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear(int bitIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear(int fromIndex, int toIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+
+        @Override
+        public void flip(int bitIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void flip(int fromIndex, int toIndex) {
+            throw readOnly();
+        }
+
+        @Override
+        public void and(BitSet set) {
+            throw readOnly();
+        }
+
+        @Override
+        public void or(BitSet set) {
+            throw readOnly();
+        }
+
+        @Override
+        public void xor(BitSet set) {
+            throw readOnly();
+        }
+
+        @Override
+        public void andNot(BitSet set) {
+            throw readOnly();
+        }
+
+        @Override
+        public Object clone() {
+            // a modifiable copy
+            var copy = new BitSet(length());
+            copy.or(this);
+            return copy;
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("the selection is read-only, use ChoiceSelectionModel");
+        }
+    }
+}
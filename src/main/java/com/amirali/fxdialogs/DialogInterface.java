@@ -1,5 +1,7 @@
 package com.amirali.fxdialogs;
 
+import java.util.BitSet;
+
 /**
  * @author Amir Ali
  */
@@ -47,4 +49,13 @@ public interface DialogInterface {
          */
         <T> void onItemSelected(int which, boolean isChecked, T item);
     }
+
+    interface OnMultiChoiceChangedListener {
+        /**
+         * the method is called once per selection change, e.g. a CheckBox toggle or select all
+         * @param changed indexes of the items that changed, don't modify it
+         * @param selection read-only selection after the change
+         */
+        void onSelectionChanged(BitSet changed, BitSet selection);
+    }
 }
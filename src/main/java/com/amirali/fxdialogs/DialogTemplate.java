@@ -0,0 +1,226 @@
+package com.amirali.fxdialogs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * immutable template of an AlertDialog that is shown many times, e.g. a "confirm delete" dialog
+ * <br>
+ * the title, message, buttons, style classes and sound are captured once, the sound is resolved and loaded
+ * in the background when the template is created. A template can be created on any thread and shared
+ * across windows, each createDialog() call returns a new AlertDialog and must be called on the JavaFX application thread.
+ * <br>
+ * <b>Note:</b> a template is a convenience for declaring a dialog once, it doesn't make creating the dialogs faster.
+ * A node can only be in one scene, so every dialog builds its own scene graph like AlertDialog.Builder does,
+ * only loading the sound is done once for every dialog of the template
+ * <pre>
+ * var confirmDelete = new DialogTemplate.Builder()
+ *         .setDialogTitle("Delete")
+ *         .setDialogMessage("Delete the selected file?")
+ *         .setPositiveButton("Delete", which -> delete())
+ *         .setNegativeButton("Cancel", which -> {})
+ *         .create();
+ *
+ * confirmDelete.createDialog().show();
+ * </pre>
+ */
+
+public final class DialogTemplate {
+
+    private final String title, message, soundUri;
+    private final ButtonSpec positiveButton, negativeButton, naturalButton;
+    private final List<String> styleClasses;
+
+    private DialogTemplate(Builder builder) {
+        title = builder.title;
+        message = builder.message;
+        soundUri = builder.soundUri;
+        positiveButton = builder.positiveButton;
+        negativeButton = builder.negativeButton;
+        naturalButton = builder.naturalButton;
+        styleClasses = Collections.unmodifiableList(new ArrayList<>(builder.styleClasses));
+    }
+
+    /**
+     * creates a new AlertDialog from the template, it costs the same as building it with AlertDialog.Builder
+     *
+     * @return AlertDialog
+     */
+    public AlertDialog createDialog() {
+        var builder = new AlertDialog.Builder();
+        if (title != null)
+            builder.setDialogTitle(title);
+        if (message != null)
+            builder.setDialogMessage(message);
+        if (positiveButton != null)
+            builder.setPositiveButton(positiveButton.text, positiveButton.listener);
+        if (negativeButton != null)
+            builder.setNegativeButton(negativeButton.text, negativeButton.listener);
+        if (naturalButton != null)
+            builder.setNaturalButton(naturalButton.text, naturalButton.listener);
+        if (soundUri != null)
+            builder.setSoundUri(soundUri);
+        if (!styleClasses.isEmpty())
+            builder.addStyleClasses(styleClasses);
+
+        return builder.create();
+    }
+
+    /**
+     * @return title of the dialogs or null
+     */
+    public String getDialogTitle() {
+        return title;
+    }
+
+    /**
+     * @return message of the dialogs or null
+     */
+    public String getDialogMessage() {
+        return message;
+    }
+
+    /**
+     * @return unmodifiable list of the style classes added to the root of the dialogs
+     */
+    public List<String> getStyleClasses() {
+        return styleClasses;
+    }
+
+    private record ButtonSpec(String text, DialogInterface.OnClickListener listener) {}
+
+    /**
+     * DialogTemplate builder
+     */
+    public static class Builder {
+
+        private String title, message, soundUri;
+        private ButtonSpec positiveButton, negativeButton, naturalButton;
+        private final List<String> styleClasses = new ArrayList<>();
+
+        /**
+         * creates an empty template builder
+         */
+        public Builder() {}
+
+        /**
+         * sets title of the dialogs
+         *
+         * @param title title of the dialogs
+         * @return Builder
+         */
+        public Builder setDialogTitle(@NotNull String title) {
+            this.title = title;
+
+            return this;
+        }
+
+        /**
+         * sets message of the dialogs
+         *
+         * @param message message of the dialogs
+         * @return Builder
+         */
+        public Builder setDialogMessage(@NotNull String message) {
+            this.message = message;
+
+            return this;
+        }
+
+        /**
+         * sets the positive button
+         *
+         * @param text     text of the button
+         * @param listener button onClickListener, shared by the dialogs of the template
+         * @return Builder
+         */
+        public Builder setPositiveButton(@NotNull String text, @NotNull DialogInterface.OnClickListener listener) {
+            positiveButton = new ButtonSpec(text, listener);
+
+            return this;
+        }
+
+        /**
+         * sets the negative button
+         *
+         * @param text     text of the button
+         * @param listener button onClickListener, shared by the dialogs of the template
+         * @return Builder
+         */
+        public Builder setNegativeButton(@NotNull String text, @NotNull DialogInterface.OnClickListener listener) {
+            negativeButton = new ButtonSpec(text, listener);
+
+            return this;
+        }
+
+        /**
+         * sets the natural button
+         *
+         * @param text     text of the button
+         * @param listener button onClickListener, shared by the dialogs of the template
+         * @return Builder
+         */
+        public Builder setNaturalButton(@NotNull String text, @NotNull DialogInterface.OnClickListener listener) {
+            naturalButton = new ButtonSpec(text, listener);
+
+            return this;
+        }
+
+        /**
+         * adds style classes to the root of the dialogs
+         *
+         * @param styleClasses style classes
+         * @return Builder
+         */
+        public Builder addStyleClass(@NotNull String... styleClasses) {
+            Collections.addAll(this.styleClasses, styleClasses);
+
+            return this;
+        }
+
+        /**
+         * sets the sound from Sounds that plays when a dialog is shown
+         * <br>
+         * <b>Note:</b> You need to add <b>javafx.media</b> dependency to use sounds
+         *
+         * @param sound default notification sounds
+         * @return Builder
+         */
+        public Builder setSound(@NotNull Sounds sound) {
+            soundUri = SoundCache.uriOf(sound);
+
+            return this;
+        }
+
+        /**
+         * sets the sound from custom file path that plays when a dialog is shown
+         * <br>
+         * <b>Note:</b> You need to add <b>javafx.media</b> dependency to use sounds
+         *
+         * @param path custom file path
+         * @return Builder
+         */
+        public Builder setSound(@NotNull String path) {
+            soundUri = SoundCache.uriOf(path);
+
+            return this;
+        }
+
+        /**
+         * creates DialogTemplate and starts loading its sound
+         *
+         * @return DialogTemplate
+         */
+        public DialogTemplate create() {
+            if (soundUri != null)
+                SoundCache.preload(soundUri);
+
+            return new DialogTemplate(this);
+        }
+    }
+}
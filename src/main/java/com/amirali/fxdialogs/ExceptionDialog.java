@@ -22,7 +22,6 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * @author Amir Ali
@@ -120,9 +119,7 @@ public final class ExceptionDialog extends Dialog<ButtonType> {
 
         private final List<ButtonType> buttonTypes = new ArrayList<>();
         private final ObjectProperty<Image> errorIconImageProperty = new SimpleObjectProperty<>(
-                new Image(
-                        Objects.requireNonNull(getClass().getResourceAsStream("icons/ic_error_64.png"))
-                )
+                IconCache.get("ic_error_64.png")
         );
         private final ObjectProperty<Throwable> exceptionProperty = new SimpleObjectProperty<>() {
             @Override
@@ -0,0 +1,73 @@
+package com.amirali.fxdialogs;
+
+import javafx.scene.image.Image;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Amir Ali
+ *
+ * shared cache of the decoded icons bundled with the library
+ * <br>
+ * one Image is kept per icon at its natural size, the ImageViews scale it. Images are decoded on the first use,
+ * so the first dialog that shows an icon doesn't show an empty ImageView, and they are held by soft references
+ * so the garbage collector can reclaim them under memory pressure.
+ */
+
+public final class IconCache {
+
+    private static final Map<String, IconReference> images = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Image> clearedImages = new ReferenceQueue<>();
+
+    private IconCache() {}
+
+    /**
+     * returns the cached image of a bundled icon or loads it
+     *
+     * @param name file name of the icon in the icons folder
+     * @return Image
+     */
+    public static Image get(@NotNull String name) {
+        expungeCleared();
+
+        var reference = images.get(name);
+        var image = reference != null ? reference.get() : null;
+        if (image == null || image.isError()) {
+            var url = Objects.requireNonNull(IconCache.class.getResource("icons/" + name), "icon not found: " + name);
+            image = new Image(url.toExternalForm());
+            images.put(name, new IconReference(name, image));
+        }
+
+        return image;
+    }
+
+    /**
+     * removes every cached image
+     */
+    public static void clear() {
+        images.clear();
+    }
+
+    private static void expungeCleared() {
+        Reference<? extends Image> reference;
+        while ((reference = clearedImages.poll()) != null) {
+            var iconReference = (IconReference) reference;
+            images.remove(iconReference.name, iconReference);
+        }
+    }
+
+    private static final class IconReference extends SoftReference<Image> {
+        private final String name;
+
+        private IconReference(String name, Image image) {
+            super(image, clearedImages);
+            this.name = name;
+        }
+    }
+}
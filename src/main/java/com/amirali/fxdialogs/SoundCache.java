@@ -0,0 +1,289 @@
+package com.amirali.fxdialogs;
+
+import javafx.scene.media.AudioClip;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author Amir Ali
+ *
+ * shared cache of the AudioClips of the dialogs and notifications, keyed by resource uri
+ * <br>
+ * clips of Sounds are kept for the lifetime of the application and can be preloaded in the background.
+ * Clips of custom files are kept in an LRU bounded by their estimated decoded PCM size,
+ * so playing a cached sound doesn't read or decode the file again.
+ * <br>
+ * the size and duration of a sound are measured on the preloader thread the first time it's used,
+ * from the header of a wave file or from the file size of compressed audio
+ * <br>
+ * <b>Note:</b> You need to add <b>javafx.media</b> dependency to use sounds
+ */
+
+public final class SoundCache {
+
+    // mp3 of the bundled sounds decodes to about 11 times of its size as 16 bit stereo pcm
+    private static final int COMPRESSED_PCM_EXPANSION = 11;
+    // 44.1 kHz, 16 bit stereo
+    private static final double PCM_BYTES_PER_SECOND = 44_100 * 4;
+    // used until a sound is measured or if it can't be measured
+    private static final Measurement UNKNOWN = new Measurement(1024 * 1024, 1);
+    // chunk ids of wave files
+    private static final int RIFF = 0x52494646, WAVE = 0x57415645, FMT = 0x666D7420, DATA = 0x64617461;
+
+    private static final Map<Sounds, String> bundledUris = new EnumMap<>(Sounds.class);
+    private static final Map<String, AudioClip> bundledClips = new HashMap<>();
+    private static final Map<String, Measurement> measurements = new HashMap<>();
+    private static final Set<String> measuring = new HashSet<>();
+    private static final LinkedHashMap<String, CachedClip> customClips = new LinkedHashMap<>(16, 0.75f, true);
+    private static long maxBytes = 32 * 1024 * 1024, usedBytes;
+    private static ExecutorService preloader;
+
+    private SoundCache() {}
+
+    /**
+     * uri of a default notification sound
+     *
+     * @param sound default notification sounds
+     * @return String
+     */
+    public static synchronized String uriOf(@NotNull Sounds sound) {
+        return bundledUris.computeIfAbsent(sound, key ->
+                Objects.requireNonNull(SoundCache.class.getResource("sounds/" + key.getFileName())).toExternalForm()
+        );
+    }
+
+    /**
+     * uri of a custom sound file
+     *
+     * @param path custom file path
+     * @return String
+     */
+    public static String uriOf(@NotNull String path) {
+        return Path.of(path).toUri().toString();
+    }
+
+    /**
+     * returns the cached clip of the uri or loads it
+     *
+     * @param uri resource uri of the sound
+     * @return AudioClip
+     */
+    public static AudioClip get(@NotNull String uri) {
+        synchronized (SoundCache.class) {
+            var clip = bundledClips.get(uri);
+            if (clip != null)
+                return clip;
+
+            var cached = customClips.get(uri);
+            if (cached != null)
+                return cached.clip;
+        }
+
+        // load outside of the lock, another thread may load the same clip but only one is kept
+        var clip = new AudioClip(uri);
+        var bytes = getMeasurement(uri).pcmBytes();
+        synchronized (SoundCache.class) {
+            if (bundledUris.containsValue(uri))
+                return bundledClips.computeIfAbsent(uri, key -> clip);
+
+            var cached = customClips.get(uri);
+            if (cached != null)
+                return cached.clip;
+
+            customClips.put(uri, new CachedClip(clip, bytes));
+            usedBytes += bytes;
+            trim();
+        }
+
+        return clip;
+    }
+
+    /**
+     * estimated playing duration of the sound
+     * <br>
+     * it never reads the file on the calling thread, a sound that isn't measured yet is measured
+     * in the background and a default of one second is returned until then
+     *
+     * @param uri resource uri of the sound
+     * @return Duration
+     */
+    public static Duration getEstimatedDuration(@NotNull String uri) {
+        return Duration.seconds(getMeasurement(uri).seconds());
+    }
+
+    /**
+     * loads default notification sounds in the background, so showing the first dialog doesn't wait for them
+     *
+     * @param sounds default notification sounds
+     */
+    public static void preload(@NotNull Sounds... sounds) {
+        var executor = getPreloader();
+        for (Sounds sound : sounds) {
+            var uri = uriOf(sound);
+            executor.execute(() -> get(uri));
+        }
+    }
+
+    /**
+     * loads a sound by its resolved uri in the background
+     *
+     * @param uri uri of the sound from uriOf()
+     */
+    static void preload(@NotNull String uri) {
+        getPreloader().execute(() -> get(uri));
+    }
+
+    private static synchronized ExecutorService getPreloader() {
+        if (preloader == null) {
+            preloader = Executors.newSingleThreadExecutor(runnable -> {
+                var thread = new Thread(runnable, "fxdialogs-sound-preloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return preloader;
+    }
+
+    /**
+     * sets maximum estimated pcm size of the cached custom clips
+     *
+     * @param maxBytes maximum size in bytes
+     */
+    public static synchronized void setMaxBytes(long maxBytes) {
+        SoundCache.maxBytes = maxBytes;
+        trim();
+    }
+
+    /**
+     * maximum estimated pcm size of the cached custom clips
+     *
+     * @return long
+     */
+    public static synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * estimated pcm size of the cached custom clips
+     *
+     * @return long
+     */
+    public static synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * removes every cached custom clip
+     */
+    public static synchronized void clear() {
+        customClips.clear();
+        usedBytes = 0;
+    }
+
+    private static void trim() {
+        // the least recently played clips are first
+        Iterator<CachedClip> iterator = customClips.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            usedBytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    private static synchronized Measurement getMeasurement(String uri) {
+        var measurement = measurements.get(uri);
+        if (measurement != null)
+            return measurement;
+
+        if (measuring.add(uri))
+            getPreloader().execute(() -> measure(uri));
+
+        return UNKNOWN;
+    }
+
+    private static void measure(String uri) {
+        // measured outside of the lock, a slow file must not stall the other sounds
+        var measurement = measureFile(uri);
+        synchronized (SoundCache.class) {
+            measuring.remove(uri);
+            measurements.put(uri, measurement);
+
+            // the clip was cached with the default size
+            var cached = customClips.get(uri);
+            if (cached != null && cached.bytes != measurement.pcmBytes()) {
+                usedBytes += measurement.pcmBytes() - cached.bytes;
+                customClips.put(uri, new CachedClip(cached.clip, measurement.pcmBytes()));
+                trim();
+            }
+        }
+    }
+
+    private static Measurement measureFile(String uri) {
+        try {
+            var connection = URI.create(uri).toURL().openConnection();
+            try (var input = new DataInputStream(new BufferedInputStream(connection.getInputStream()))) {
+                var path = URI.create(uri).getPath();
+                var name = path != null ? path.toLowerCase(Locale.ROOT) : "";
+                if (name.endsWith(".wav") || name.endsWith(".wave"))
+                    return measureWave(input);
+
+                var size = connection.getContentLengthLong();
+                if (size > 0) {
+                    var bytes = size * COMPRESSED_PCM_EXPANSION;
+                    return new Measurement(bytes, bytes / PCM_BYTES_PER_SECOND);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+
+        return UNKNOWN;
+    }
+
+    private static Measurement measureWave(DataInputStream input) throws IOException {
+        if (input.readInt() != RIFF)
+            throw new IOException("not a wave file");
+        input.skipNBytes(4);
+        if (input.readInt() != WAVE)
+            throw new IOException("not a wave file");
+
+        // pcm data of a wave file is played as it is, so its size is the decoded size
+        var byteRate = 0L;
+        while (true) {
+            var id = input.readInt();
+            var size = Integer.toUnsignedLong(Integer.reverseBytes(input.readInt()));
+            if (id == FMT && size >= 16) {
+                input.skipNBytes(8);
+                byteRate = Integer.toUnsignedLong(Integer.reverseBytes(input.readInt()));
+                input.skipNBytes(size - 12 + (size & 1));
+            }else if (id == DATA) {
+                if (byteRate <= 0)
+                    throw new IOException("wave file without format");
+                return new Measurement(size, (double) size / byteRate);
+            }else {
+                input.skipNBytes(size + (size & 1));
+            }
+        }
+    }
+
+    private record CachedClip(AudioClip clip, long bytes) {}
+
+    private record Measurement(long pcmBytes, double seconds) {}
+}
@@ -0,0 +1,212 @@
+package com.amirali.fxdialogs;
+
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Amir Ali
+ *
+ * central gate of the sounds played by dialogs and notifications
+ * <br>
+ * it limits the number of concurrent voices, suppresses the same sound played again within a short window
+ * and lets a sound with a higher priority take the voice of a lower one, so the audio cost stays flat
+ * no matter how many notifications are shown. AudioClip doesn't report the end of playing,
+ * so a voice is held for the estimated duration of its sound.
+ * <br>
+ * <b>Note:</b> You need to add <b>javafx.media</b> dependency to use sounds
+ */
+
+public final class SoundGovernor {
+
+    private static final List<Voice> voices = new ArrayList<>();
+    private static final Map<String, Long> lastPlayed = new HashMap<>();
+    private static final Map<Sounds, Integer> priorities = new EnumMap<>(Sounds.class);
+    private static int maxVoices = 4;
+    private static long suppressionWindowNanos = 250_000_000;
+    private static long playedCount, droppedCount, suppressedCount;
+
+    static {
+        priorities.put(Sounds.SystemFault, 10);
+    }
+
+    private SoundGovernor() {}
+
+    /**
+     * plays a sound if a voice is free
+     *
+     * @param sound default notification sounds
+     * @return true if the sound is played
+     */
+    public static boolean play(@NotNull Sounds sound) {
+        return play(SoundCache.uriOf(sound), getPriority(sound));
+    }
+
+    /**
+     * plays a sound by uri with the priority of its Sounds entry or zero for custom sounds
+     *
+     * @param uri resource uri of the sound
+     * @return true if the sound is played
+     */
+    public static boolean play(@NotNull String uri) {
+        var priority = 0;
+        synchronized (SoundGovernor.class) {
+            for (Map.Entry<Sounds, Integer> entry : priorities.entrySet()) {
+                if (SoundCache.uriOf(entry.getKey()).equals(uri))
+                    priority = entry.getValue();
+            }
+        }
+
+        return play(uri, priority);
+    }
+
+    /**
+     * plays a sound by uri if a voice is free or a voice of a lower priority can be taken
+     *
+     * @param uri resource uri of the sound
+     * @param priority priority of the sound
+     * @return true if the sound is played
+     */
+    public static boolean play(@NotNull String uri, int priority) {
+        // only a lookup, the duration is measured on the preloader thread and a default is used until then
+        var clip = SoundCache.get(uri);
+        var duration = SoundCache.getEstimatedDuration(uri);
+        synchronized (SoundGovernor.class) {
+            var now = System.nanoTime();
+            voices.removeIf(voice -> voice.endNanos <= now);
+            // only the sounds played within the window can be suppressed
+            lastPlayed.values().removeIf(played -> now - played >= suppressionWindowNanos);
+
+            var last = lastPlayed.get(uri);
+            if (last != null && now - last < suppressionWindowNanos) {
+                suppressedCount++;
+                return false;
+            }
+
+            if (voices.size() >= maxVoices) {
+                Voice lowest = null;
+                for (Voice voice : voices) {
+                    if (lowest == null || voice.priority < lowest.priority)
+                        lowest = voice;
+                }
+                if (lowest == null || lowest.priority >= priority) {
+                    droppedCount++;
+                    return false;
+                }
+
+                // AudioClip.stop() stops every playing instance of the clip
+                var taken = lowest.uri;
+                SoundCache.get(taken).stop();
+                voices.removeIf(voice -> voice.uri.equals(taken));
+            }
+
+            voices.add(new Voice(uri, priority, now + (long) (duration.toMillis() * 1_000_000)));
+            lastPlayed.put(uri, now);
+            playedCount++;
+        }
+        clip.play();
+
+        return true;
+    }
+
+    /**
+     * sets maximum number of the sounds that play at the same time
+     *
+     * @param maxVoices maximum number of voices
+     * @throws IllegalArgumentException if maxVoices is less than 1
+     */
+    public static synchronized void setMaxVoices(int maxVoices) {
+        if (maxVoices < 1)
+            throw new IllegalArgumentException("maxVoices must be at least 1");
+
+        SoundGovernor.maxVoices = maxVoices;
+    }
+
+    /**
+     * maximum number of the sounds that play at the same time
+     *
+     * @return int
+     */
+    public static synchronized int getMaxVoices() {
+        return maxVoices;
+    }
+
+    /**
+     * sets the window that the same sound isn't played again in
+     *
+     * @param window suppression window, 250 ms by default
+     */
+    public static synchronized void setSuppressionWindow(@NotNull Duration window) {
+        suppressionWindowNanos = (long) (window.toMillis() * 1_000_000);
+    }
+
+    /**
+     * the window that the same sound isn't played again in
+     *
+     * @return Duration
+     */
+    public static synchronized Duration getSuppressionWindow() {
+        return Duration.millis(suppressionWindowNanos / 1_000_000.0);
+    }
+
+    /**
+     * sets priority of a default notification sound, SystemFault has 10 and the others have 0 by default
+     *
+     * @param sound default notification sounds
+     * @param priority priority of the sound
+     */
+    public static synchronized void setPriority(@NotNull Sounds sound, int priority) {
+        priorities.put(sound, priority);
+    }
+
+    /**
+     * priority of a default notification sound
+     *
+     * @param sound default notification sounds
+     * @return int
+     */
+    public static synchronized int getPriority(@NotNull Sounds sound) {
+        return priorities.getOrDefault(sound, 0);
+    }
+
+    /**
+     * number of the played sounds
+     *
+     * @return long
+     */
+    public static synchronized long getPlayedCount() {
+        return playedCount;
+    }
+
+    /**
+     * number of the sounds that were dropped because no voice was free
+     *
+     * @return long
+     */
+    public static synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * number of the sounds that were suppressed because the same sound was played within the suppression window
+     *
+     * @return long
+     */
+    public static synchronized long getSuppressedCount() {
+        return suppressedCount;
+    }
+
+    /**
+     * resets the played, dropped and suppressed counters
+     */
+    public static synchronized void resetCounters() {
+        playedCount = droppedCount = suppressedCount = 0;
+    }
+
+    private record Voice(String uri, int priority, long endNanos) {}
+}
@@ -1,10 +1,9 @@
 package com.amirali.fxdialogs;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.amirali.fxdialogs.internal.ExpiryScheduler;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -25,17 +24,10 @@ import java.util.List;
 public final class SplashScreen extends Stage {
 
     private final Builder builder;
-    private final ObjectProperty<Duration> durationProperty = new SimpleObjectProperty<>(Duration.ZERO) {
-        @Override
-        public void set(Duration duration) {
-            super.set(duration);
-            timeline = new Timeline(new KeyFrame(duration));
-            timeline.setCycleCount(1);
-            timeline.setOnFinished(event -> closeSplash());
-            currentTimeProperty.bind(timeline.currentTimeProperty());
-        }
-    }, currentTimeProperty = new SimpleObjectProperty<>(Duration.ZERO);
-    private Timeline timeline;
+    private final ObjectProperty<Duration> durationProperty = new SimpleObjectProperty<>(Duration.ZERO);
+    private ReadOnlyObjectWrapper<Duration> currentTimeProperty;
+    private ExpiryScheduler.Task expiryTask;
+    private boolean waitingIndefinitely;
 
     /**
      * @param builder SplashScreen builder
@@ -61,16 +53,26 @@ public final class SplashScreen extends Stage {
         setDuration(builder.duration);
 
         addEventHandler(WindowEvent.WINDOW_SHOWN, windowEvent -> {
-            if (timeline != null)
-                timeline.play();
+            // an indefinite splash screen stays until it's closed
+            var duration = getDuration();
+            if (duration != null && !duration.isIndefinite() && !duration.isUnknown()) {
+                expiryTask = ExpiryScheduler.schedule(duration, this::closeSplash);
+                if (currentTimeProperty != null)
+                    expiryTask.setElapsedObserver(currentTimeProperty::set);
+            } else {
+                waitingIndefinitely = true;
+            }
 
             if (builder.callBack != null)
                 builder.callBack.onStarted();
         });
 
         addEventHandler(WindowEvent.WINDOW_HIDDEN, windowEvent -> {
-            if (timeline != null && timeline.getStatus() == Animation.Status.RUNNING) {
-                timeline.stop();
+            if (waitingIndefinitely) {
+                waitingIndefinitely = false;
+                closeSplash();
+            } else if (expiryTask != null && expiryTask.isPending()) {
+                expiryTask.cancel();
                 closeSplash();
             }
         });
@@ -92,16 +94,24 @@ public final class SplashScreen extends Stage {
      * @return Duration
      */
     public Duration getCurrentTime() {
-        return currentTimeProperty.get();
+        return expiryTask != null ? expiryTask.getElapsed() : Duration.ZERO;
     }
 
     /**
      * elapsed duration of the total duration as a read only property
+     * <br>
+     * the property is created on demand and only updated on every pulse once it's requested
      *
      * @return ReadOnlyObjectProperty
      */
     public ReadOnlyObjectProperty<Duration> currentTimeProperty() {
-        return currentTimeProperty;
+        if (currentTimeProperty == null) {
+            currentTimeProperty = new ReadOnlyObjectWrapper<>(this, "currentTime", getCurrentTime());
+            if (expiryTask != null && expiryTask.isPending())
+                expiryTask.setElapsedObserver(currentTimeProperty::set);
+        }
+
+        return currentTimeProperty.getReadOnlyProperty();
     }
 
     /**
@@ -24,14 +24,10 @@ public final class TimePickerDialog extends Stage {
 
     private final Builder builder;
     private final ObjectProperty<Image> arrowUpImageProperty = new SimpleObjectProperty<>(
-            new Image(
-                    Objects.requireNonNull(getClass().getResourceAsStream("icons/round_keyboard_arrow_up_black_24dp.png"))
-            )
+            IconCache.get("round_keyboard_arrow_up_black_24dp.png")
     );
     private final ObjectProperty<Image> arrowDownImageProperty = new SimpleObjectProperty<>(
-            new Image(
-                    Objects.requireNonNull(getClass().getResourceAsStream("icons/round_keyboard_arrow_down_black_24dp.png"))
-            )
+            IconCache.get("round_keyboard_arrow_down_black_24dp.png")
     );
 
     /**
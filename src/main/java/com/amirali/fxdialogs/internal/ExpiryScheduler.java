@@ -0,0 +1,260 @@
+package com.amirali.fxdialogs.internal;
+
+import javafx.animation.AnimationTimer;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author Amir Ali
+ *
+ * shared scheduler of the display durations of notifications and splash screens
+ * <br>
+ * tasks are kept in a hierarchical timing wheel of {@value #LEVELS} levels with {@value #WHEEL_SIZE} buckets
+ * and a tick of {@value #TICK_MILLIS} ms, so scheduling and cancelling a task is O(1).
+ * A single AnimationTimer drives the wheel and only runs while tasks are pending.
+ * <br>
+ * <b>Note:</b> the scheduler must be used on the JavaFX application thread.
+ * It's internal to the library, its package isn't exported by the module
+ */
+
+public final class ExpiryScheduler {
+
+    private static final int TICK_MILLIS = 10;
+    private static final long TICK_NANOS = TICK_MILLIS * 1_000_000L;
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final long origin = System.nanoTime();
+    private static final Task[][] wheel = new Task[LEVELS][WHEEL_SIZE];
+    private static final Set<Task> observedTasks = new LinkedHashSet<>();
+    private static final List<Task> expiredTasks = new ArrayList<>();
+    private static long currentTick;
+    // far beyond any real delay and small enough to be added to a time without overflow
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE / 4;
+    private static int pendingCount;
+    private static AnimationTimer timer;
+
+    private ExpiryScheduler() {}
+
+    /**
+     * schedules an action to run once after the delay
+     *
+     * @param delay delay of the action
+     * @param action action that runs on the JavaFX application thread
+     * @return Task
+     * @throws IllegalArgumentException if the delay is indefinite or unknown
+     */
+    public static Task schedule(@NotNull Duration delay, @NotNull Runnable action) {
+        if (delay.isIndefinite() || delay.isUnknown())
+            throw new IllegalArgumentException("delay must be finite");
+
+        var now = System.nanoTime();
+        if (pendingCount == 0) {
+            // nothing is pending, skip the idle ticks instead of replaying them
+            currentTick = toTick(now);
+            if (timer == null) {
+                timer = new AnimationTimer() {
+                    @Override
+                    public void handle(long now) {
+                        advance(now);
+                    }
+                };
+            }
+            timer.start();
+        }
+
+        // round up so the action never runs before the delay, huge delays are saturated instead of overflowing
+        var delayNanos = (long) Math.min(delay.toMillis() * 1_000_000, MAX_DELAY_NANOS);
+        var deadline = Math.max(currentTick + 1, (now - origin + delayNanos + TICK_NANOS - 1) / TICK_NANOS);
+        var task = new Task(action, now, delay, deadline);
+        insert(task);
+        pendingCount++;
+
+        return task;
+    }
+
+    private static long toTick(long nanos) {
+        return (nanos - origin) / TICK_NANOS;
+    }
+
+    private static void insert(Task task) {
+        var delta = Math.min(task.deadline - currentTick, MAX_DELAY_TICKS);
+        var deadline = currentTick + Math.max(delta, 0);
+        var level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1)))
+            level++;
+        var index = (int) (deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+
+        task.level = level;
+        task.index = index;
+        task.previous = null;
+        task.next = wheel[level][index];
+        if (task.next != null)
+            task.next.previous = task;
+        wheel[level][index] = task;
+    }
+
+    private static void unlink(Task task) {
+        if (task.previous != null)
+            task.previous.next = task.next;
+        else
+            wheel[task.level][task.index] = task.next;
+        if (task.next != null)
+            task.next.previous = task.previous;
+        task.previous = task.next = null;
+        task.level = -1;
+    }
+
+    private static void advance(long now) {
+        var targetTick = toTick(now);
+        while (currentTick < targetTick && pendingCount > 0) {
+            currentTick++;
+            cascade(1);
+            expire();
+        }
+
+        if (!observedTasks.isEmpty()) {
+            for (Task task : observedTasks.toArray(new Task[0]))
+                task.notifyElapsed(now);
+        }
+
+        if (pendingCount == 0)
+            timer.stop();
+    }
+
+    private static void cascade(int level) {
+        if (level >= LEVELS || (currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0)
+            return;
+
+        // the lower wheel wrapped, move the next bucket of this level down
+        cascade(level + 1);
+        var index = (int) (currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK;
+        var task = wheel[level][index];
+        wheel[level][index] = null;
+        while (task != null) {
+            var next = task.next;
+            insert(task);
+            task = next;
+        }
+    }
+
+    private static void expire() {
+        var index = (int) currentTick & WHEEL_MASK;
+        var task = wheel[0][index];
+        while (task != null) {
+            var next = task.next;
+            if (task.deadline <= currentTick) {
+                unlink(task);
+                pendingCount--;
+                task.done = true;
+                expiredTasks.add(task);
+            }
+            task = next;
+        }
+
+        // run the actions after unlinking, they may schedule or cancel other tasks
+        for (Task expired : expiredTasks)
+            expired.finish();
+        expiredTasks.clear();
+    }
+
+    /**
+     * scheduled action of the ExpiryScheduler
+     */
+    public static final class Task {
+
+        private final Runnable action;
+        private final long startNanos;
+        private final Duration delay;
+        private final long deadline;
+        private Task previous, next;
+        private int level = -1, index;
+        private boolean done, cancelled;
+        private Consumer<Duration> elapsedObserver;
+
+        private Task(Runnable action, long startNanos, Duration delay, long deadline) {
+            this.action = action;
+            this.startNanos = startNanos;
+            this.delay = delay;
+            this.deadline = deadline;
+        }
+
+        /**
+         * cancels the task if it's still pending
+         */
+        public void cancel() {
+            if (!isPending())
+                return;
+
+            unlink(this);
+            pendingCount--;
+            cancelled = true;
+            setElapsedObserver(null);
+        }
+
+        /**
+         * @return true if the action hasn't run and the task isn't cancelled
+         */
+        public boolean isPending() {
+            return !done && !cancelled;
+        }
+
+        /**
+         * elapsed duration of the delay
+         * <br>
+         * returns zero value if the task is cancelled and the delay if the action has run
+         *
+         * @return Duration
+         */
+        public Duration getElapsed() {
+            if (cancelled)
+                return Duration.ZERO;
+            if (done)
+                return delay;
+
+            return elapsedAt(System.nanoTime());
+        }
+
+        /**
+         * sets an observer that receives the elapsed duration on every pulse while the task is pending
+         * <br>
+         * only observed tasks are updated per pulse
+         *
+         * @param observer elapsed duration observer or null to remove it
+         */
+        public void setElapsedObserver(Consumer<Duration> observer) {
+            elapsedObserver = observer;
+            if (observer != null && isPending())
+                observedTasks.add(this);
+            else
+                observedTasks.remove(this);
+        }
+
+        private Duration elapsedAt(long nanos) {
+            var elapsed = Duration.millis((nanos - startNanos) / 1_000_000.0);
+            return elapsed.greaterThan(delay) ? delay : elapsed;
+        }
+
+        private void notifyElapsed(long nanos) {
+            if (elapsedObserver != null)
+                elapsedObserver.accept(elapsedAt(nanos));
+        }
+
+        private void finish() {
+            if (elapsedObserver != null) {
+                elapsedObserver.accept(delay);
+                setElapsedObserver(null);
+            }
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.amirali.fxdialogs.notifications;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * stores the notification logs as compact fixed-size binary records
+ * <br>
+ * layout: a header of magic, version and record count followed by records of {@value #RECORD_SIZE} bytes
+ * <pre>
+ * record: int position | double height | long pid | long lease expiry | short id length | id bytes padded to {@value #ID_SIZE} bytes
+ * </pre>
+ * ids must fit in {@value #ID_SIZE} bytes of UTF-8, the default random ids use 36 bytes
+ */
+
+public class BinaryNotificationInfoStore implements NotificationInfoStore {
+
+    private static final int MAGIC = 0x46584E42;
+    private static final int VERSION = 2;
+    static final int RECORD_SIZE = 128;
+    static final int ID_SIZE = RECORD_SIZE - 30;
+
+    private final Path file;
+
+    /**
+     * initial store with <b>~/.fxdialogs/notification-logs.bin</b>
+     */
+    public BinaryNotificationInfoStore() {
+        this.file = null;
+    }
+
+    /**
+     * initial store
+     *
+     * @param file binary file
+     */
+    public BinaryNotificationInfoStore(@NotNull Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public List<NotificationInfo> load() throws IOException {
+        var path = getFile();
+        var infos = new ArrayList<NotificationInfo>();
+        if (Files.notExists(path))
+            return infos;
+
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION)
+                return infos;
+
+            var count = input.readInt();
+            var positions = NotificationPosition.values();
+            var id = new byte[ID_SIZE];
+            for (int i = 0; i < count; i++) {
+                var ordinal = input.readInt();
+                // a corrupt record ends the file like a truncated one, the next store overwrites it
+                if (ordinal < 0 || ordinal >= positions.length)
+                    break;
+                var position = positions[ordinal];
+                var height = input.readDouble();
+                var pid = input.readLong();
+                var leaseExpiry = input.readLong();
+                var idLength = input.readShort();
+                if (idLength < 0 || idLength > ID_SIZE)
+                    break;
+                input.readFully(id);
+                infos.add(new NotificationInfo(position, new String(id, 0, idLength, StandardCharsets.UTF_8), height, pid, leaseExpiry));
+            }
+        } catch (EOFException e) {
+            // truncated file, keep the complete records
+        }
+
+        return infos;
+    }
+
+    @Override
+    public void store(@NotNull Collection<NotificationInfo> infos) throws IOException {
+        // a record has a fixed size, the infos with a longer id are skipped instead of failing the whole file
+        var ids = new ArrayList<byte[]>(infos.size());
+        var records = new ArrayList<NotificationInfo>(infos.size());
+        for (NotificationInfo info : infos) {
+            var id = info.id().getBytes(StandardCharsets.UTF_8);
+            if (id.length <= ID_SIZE) {
+                ids.add(id);
+                records.add(info);
+            }
+        }
+
+        NotificationInfoLogger.writeAtomically(getFile(), outputStream -> {
+            var output = new DataOutputStream(new BufferedOutputStream(outputStream));
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(records.size());
+            var padding = new byte[ID_SIZE];
+            for (int i = 0; i < records.size(); i++) {
+                var info = records.get(i);
+                var id = ids.get(i);
+                output.writeInt(info.position().ordinal());
+                output.writeDouble(info.height());
+                output.writeLong(info.pid());
+                output.writeLong(info.leaseExpiry());
+                output.writeShort(id.length);
+                output.write(id);
+                output.write(padding, 0, ID_SIZE - id.length);
+            }
+            output.flush();
+        });
+    }
+
+    private Path getFile() throws IOException {
+        return file != null ? file : NotificationInfoLogger.getDirectory().resolve("notification-logs.bin");
+    }
+}
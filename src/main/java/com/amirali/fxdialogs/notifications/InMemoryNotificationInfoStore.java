@@ -0,0 +1,33 @@
+package com.amirali.fxdialogs.notifications;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * keeps the notification logs in memory, for single process apps that don't need the logs on disk
+ */
+
+public class InMemoryNotificationInfoStore implements NotificationInfoStore {
+
+    private volatile List<NotificationInfo> infos = List.of();
+
+    /**
+     * initial empty store
+     */
+    public InMemoryNotificationInfoStore() {}
+
+    @Override
+    public List<NotificationInfo> load() {
+        return new ArrayList<>(infos);
+    }
+
+    @Override
+    public void store(@NotNull Collection<NotificationInfo> infos) {
+        this.infos = List.copyOf(infos);
+    }
+}
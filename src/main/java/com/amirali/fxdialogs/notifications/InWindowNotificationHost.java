@@ -0,0 +1,84 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.scene.Parent;
+import javafx.scene.layout.StackPane;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * @author Amir Ali
+ *
+ * overlay node that shows notifications inside a scene, without any window
+ * <br>
+ * add it on top of the content of a scene, e.g. as the last child of a StackPane root,
+ * and set it as the host of the notifications. Notifications are stacked per NotificationPosition
+ * and keep their durations and sounds. The empty area of the host doesn't take mouse events.
+ * <pre>
+ * var host = new InWindowNotificationHost();
+ * stage.setScene(new Scene(new StackPane(content, host)));
+ *
+ * var notification = new SimplePopupNotification("title", "message");
+ * notification.setHost(host);
+ * notification.show(stage);
+ * </pre>
+ */
+
+public class InWindowNotificationHost extends StackPane implements NotificationHost {
+
+    private final Map<NotificationPosition, NotificationLane> lanes = new EnumMap<>(NotificationPosition.class);
+
+    /**
+     * initial InWindowNotificationHost
+     */
+    public InWindowNotificationHost() {
+        getStyleClass().add("in-window-notification-host");
+        setPickOnBounds(false);
+    }
+
+    @Override
+    public void add(@NotNull PopupNotification notification, @NotNull Parent content) {
+        var position = notification.getPosition();
+        // the position may be changed while the notification is shown
+        content.getProperties().put(NotificationPosition.class, position);
+        laneOf(position).add(content, notification.getMargin());
+    }
+
+    @Override
+    public void remove(@NotNull PopupNotification notification, @NotNull Parent content) {
+        var position = (NotificationPosition) content.getProperties().remove(NotificationPosition.class);
+        var lane = position != null ? lanes.get(position) : null;
+        if (lane == null)
+            return;
+
+        lane.remove(content);
+        if (lane.getChildren().isEmpty()) {
+            getChildren().remove(lane);
+            lanes.remove(position);
+        }
+    }
+
+    /**
+     * number of the notifications shown in the host
+     *
+     * @return int
+     */
+    public int getNotificationCount() {
+        var count = 0;
+        for (NotificationLane lane : lanes.values())
+            count += lane.getChildren().size();
+
+        return count;
+    }
+
+    private NotificationLane laneOf(NotificationPosition position) {
+        return lanes.computeIfAbsent(position, key -> {
+            var lane = new NotificationLane(key);
+            StackPane.setAlignment(lane, lane.getAlignment());
+            lane.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+            getChildren().add(lane);
+            return lane;
+        });
+    }
+}
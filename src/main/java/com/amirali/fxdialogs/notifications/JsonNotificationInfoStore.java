@@ -0,0 +1,112 @@
+package com.amirali.fxdialogs.notifications;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * stores the notification logs as a json array, read and written with a streaming codec without reflection
+ * <br>
+ * this is the default store and uses <b>~/.fxdialogs/notification-logs.json</b>
+ */
+
+public class JsonNotificationInfoStore implements NotificationInfoStore {
+
+    private final Path file;
+
+    /**
+     * initial store with the default json file
+     */
+    public JsonNotificationInfoStore() {
+        this.file = null;
+    }
+
+    /**
+     * initial store
+     *
+     * @param file json file
+     */
+    public JsonNotificationInfoStore(@NotNull Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public List<NotificationInfo> load() throws IOException {
+        var path = getFile();
+        var infos = new ArrayList<NotificationInfo>();
+        if (Files.notExists(path) || Files.size(path) == 0)
+            return infos;
+
+        try (var reader = new JsonReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                NotificationPosition position = null;
+                String id = null;
+                var height = 0.0;
+                var pid = 0L;
+                var leaseExpiry = 0L;
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "position" -> position = NotificationPosition.valueOf(reader.nextString());
+                        case "id" -> id = reader.nextString();
+                        case "height" -> height = reader.nextDouble();
+                        case "pid" -> pid = reader.nextLong();
+                        case "leaseExpiry" -> leaseExpiry = reader.nextLong();
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+
+                if (position != null && id != null)
+                    infos.add(new NotificationInfo(position, id, height, pid, leaseExpiry));
+            }
+            reader.endArray();
+        } catch (EOFException | MalformedJsonException | IllegalStateException | IllegalArgumentException e) {
+            // truncated or corrupt file, it's read as empty and the next store overwrites it
+            e.printStackTrace();
+            infos.clear();
+        }
+
+        return infos;
+    }
+
+    @Override
+    public void store(@NotNull Collection<NotificationInfo> infos) throws IOException {
+        NotificationInfoLogger.writeAtomically(getFile(), outputStream -> {
+            var writer = new JsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.setIndent("  ");
+            writer.beginArray();
+            for (NotificationInfo info : infos) {
+                writer.beginObject();
+                writer.name("position").value(info.position().name());
+                writer.name("id").value(info.id());
+                writer.name("height").value(info.height());
+                writer.name("pid").value(info.pid());
+                writer.name("leaseExpiry").value(info.leaseExpiry());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.flush();
+        });
+    }
+
+    private Path getFile() throws IOException {
+        return file != null ? file : NotificationInfoLogger.getDirectory().resolve("notification-logs.json");
+    }
+}
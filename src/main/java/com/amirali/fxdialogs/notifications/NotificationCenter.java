@@ -0,0 +1,754 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * @author Amir Ali
+ *
+ * shows notifications with a limited number of visible notifications per NotificationPosition
+ * <br>
+ * notifications that don't fit are kept in a bounded backlog and shown when a visible notification hides,
+ * in FIFO or priority order. When the backlog is full the OverflowPolicy decides which notification is dropped.
+ * <br>
+ * notifications are created and shown on animation pulses within a frame budget,
+ * the rest is carried over to the next pulse
+ * <br>
+ * posted specs with the same coalescing key within the coalescing window update the existing notification
+ * with a repeat count instead of showing a new one
+ * <br>
+ * when a position has as many notifications as the collapse threshold or they reach the collapse height,
+ * the waiting notifications fold into an "N more" card that shows them on demand. Folded notifications are
+ * the backlog of the position, so they are bounded by maxBacklog and the OverflowPolicy and they aren't created
+ * until they are expanded. Lowering the collapse threshold or height folds the oldest visible notifications,
+ * the notifications of specs are released and created again when they are expanded.
+ * <br>
+ * <b>Note:</b> the NotificationCenter must be used on the JavaFX application thread,
+ * except {@link #post(NotificationSpec)} which can be called from any thread
+ */
+
+public class NotificationCenter {
+
+    private static final Comparator<Pending> AGE_ORDER = Comparator.comparingLong(pending -> pending.sequence);
+    private static final Comparator<Pending> PRIORITY_ORDER = Comparator.<Pending>comparingInt(pending -> pending.priority)
+            .reversed()
+            .thenComparing(AGE_ORDER);
+
+    private final Map<NotificationPosition, Lane> lanes = new EnumMap<>(NotificationPosition.class);
+    private final ConcurrentLinkedQueue<NotificationSpec> inbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ArrayDeque<Pending> ready = new ArrayDeque<>();
+    private final Map<Object, Pending> coalescing = new HashMap<>();
+    private Function<NotificationSpec, ?> coalescingKey = NotificationCenter::defaultCoalescingKey;
+    private long coalescingWindowNanos;
+    private AnimationTimer showTimer;
+    private SimplePopupNotificationPool notificationPool;
+    private long frameBudgetNanos = 4_000_000, averageShowCostNanos;
+    private int maxVisible, maxBacklog = 100, collapseThreshold;
+    private double collapseHeight;
+    private PromotionPolicy promotionPolicy = PromotionPolicy.FIFO;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private long sequence, droppedCount;
+
+    /**
+     * initial NotificationCenter with 5 visible notifications per position
+     */
+    public NotificationCenter() {
+        this(5);
+    }
+
+    /**
+     * initial NotificationCenter
+     *
+     * @param maxVisible maximum number of visible notifications per position
+     */
+    public NotificationCenter(int maxVisible) {
+        setMaxVisible(maxVisible);
+    }
+
+    /**
+     * shows the notification if its position has a free place, otherwise adds it to the backlog
+     *
+     * @param notification notification
+     * @param owner owner window of the notification
+     * @return false if the notification is rejected or dropped because the backlog is full
+     */
+    public boolean post(@NotNull PopupNotification notification, @NotNull Window owner) {
+        return post(notification, owner, 0);
+    }
+
+    /**
+     * shows the notification if its position has a free place, otherwise adds it to the backlog
+     *
+     * @param notification notification
+     * @param owner owner window of the notification
+     * @param priority priority of the notification, higher values are shown first
+     *                 when the promotion policy is PRIORITY
+     * @return false if the notification is rejected or dropped because the backlog is full
+     */
+    public boolean post(@NotNull PopupNotification notification, @NotNull Window owner, int priority) {
+        var lane = laneOf(notification.getPosition());
+        return enqueue(new Pending(lane, notification, null, owner, priority, sequence++));
+    }
+
+    /**
+     * posts a notification from any thread
+     * <br>
+     * specs are collected in a lock-free queue and handed to the JavaFX application thread in batches,
+     * so a single Platform.runLater serves every spec posted until the batch is drained.
+     * The notification is only created when it's shown, waiting specs don't hold any scene graph.
+     *
+     * @param spec NotificationSpec
+     */
+    public void post(@NotNull NotificationSpec spec) {
+        inbox.add(spec);
+        if (drainScheduled.compareAndSet(false, true))
+            Platform.runLater(this::drainInbox);
+    }
+
+    private void drainInbox() {
+        // specs posted from now on schedule another batch
+        drainScheduled.set(false);
+        NotificationSpec spec;
+        while ((spec = inbox.poll()) != null) {
+            var now = System.nanoTime();
+            Object key = null;
+            if (coalescingWindowNanos > 0) {
+                key = coalescingKey.apply(spec);
+                var existing = key != null ? coalescing.get(key) : null;
+                if (existing != null && now - existing.lastPostedNanos <= coalescingWindowNanos) {
+                    existing.repeat(now);
+                    continue;
+                }
+            }
+
+            var lane = laneOf(spec.getPosition());
+            var pending = new Pending(lane, null, spec, spec.getOwner(), spec.getPriority(), sequence++);
+            pending.lastPostedNanos = now;
+            if (enqueue(pending) && key != null) {
+                pending.coalescingKey = key;
+                coalescing.put(key, pending);
+            }
+        }
+    }
+
+    private static Object defaultCoalescingKey(NotificationSpec spec) {
+        return spec.getId() != null ? spec.getId() : spec.getTitle() + '\u0000' + spec.getMessage();
+    }
+
+    private boolean enqueue(Pending pending) {
+        var lane = pending.lane;
+        if (hasRoom(lane) && lane.byAge.isEmpty()) {
+            show(pending);
+            return true;
+        }
+
+        if (lane.byAge.size() >= maxBacklog) {
+            // without a backlog there is nothing to drop for the incoming notification
+            if (lane.byAge.isEmpty()) {
+                droppedCount++;
+                return false;
+            }
+            switch (overflowPolicy) {
+                case REJECT -> {
+                    droppedCount++;
+                    return false;
+                }
+                case DROP_OLDEST -> discard(lane.byAge.first());
+                case DROP_LOWEST_PRIORITY -> {
+                    var lowest = lane.byPriority.last();
+                    if (PRIORITY_ORDER.compare(pending, lowest) > 0) {
+                        droppedCount++;
+                        return false;
+                    }
+                    discard(lowest);
+                }
+            }
+            droppedCount++;
+        }
+        lane.add(pending);
+        updateSummary(lane);
+
+        return true;
+    }
+
+    /**
+     * sets maximum number of visible notifications per position
+     *
+     * @param maxVisible maximum number of visible notifications
+     * @throws IllegalArgumentException if maxVisible is less than 1
+     */
+    public void setMaxVisible(int maxVisible) {
+        if (maxVisible < 1)
+            throw new IllegalArgumentException("maxVisible must be at least 1");
+
+        this.maxVisible = maxVisible;
+        for (Lane lane : lanes.values())
+            promote(lane);
+    }
+
+    /**
+     * maximum number of visible notifications per position
+     *
+     * @return int
+     */
+    public int getMaxVisible() {
+        return maxVisible;
+    }
+
+    /**
+     * sets maximum number of waiting notifications per position
+     *
+     * @param maxBacklog maximum number of waiting notifications, with 0 the notifications that can't be shown are dropped
+     * @throws IllegalArgumentException if maxBacklog is negative
+     */
+    public void setMaxBacklog(int maxBacklog) {
+        if (maxBacklog < 0)
+            throw new IllegalArgumentException("maxBacklog cannot be negative");
+
+        this.maxBacklog = maxBacklog;
+    }
+
+    /**
+     * maximum number of waiting notifications per position
+     *
+     * @return int
+     */
+    public int getMaxBacklog() {
+        return maxBacklog;
+    }
+
+    /**
+     * sets the order that waiting notifications are shown in
+     *
+     * @param promotionPolicy PromotionPolicy
+     */
+    public void setPromotionPolicy(@NotNull PromotionPolicy promotionPolicy) {
+        this.promotionPolicy = promotionPolicy;
+    }
+
+    /**
+     * the order that waiting notifications are shown in
+     *
+     * @return PromotionPolicy
+     */
+    public PromotionPolicy getPromotionPolicy() {
+        return promotionPolicy;
+    }
+
+    /**
+     * sets which notification is dropped when the backlog is full
+     *
+     * @param overflowPolicy OverflowPolicy
+     */
+    public void setOverflowPolicy(@NotNull OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * which notification is dropped when the backlog is full
+     *
+     * @return OverflowPolicy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * sets the pool that the notifications of the posted specs are taken from
+     *
+     * @param notificationPool SimplePopupNotificationPool or null to create a new notification for every spec
+     */
+    public void setNotificationPool(SimplePopupNotificationPool notificationPool) {
+        this.notificationPool = notificationPool;
+    }
+
+    /**
+     * the pool that the notifications of the posted specs are taken from
+     *
+     * @return SimplePopupNotificationPool or null
+     */
+    public SimplePopupNotificationPool getNotificationPool() {
+        return notificationPool;
+    }
+
+    /**
+     * sets the time that can be spent on creating and showing notifications in one pulse
+     * <br>
+     * at least one notification is shown per pulse, whatever its cost
+     *
+     * @param frameBudget frame budget, 4 ms by default
+     */
+    public void setFrameBudget(@NotNull Duration frameBudget) {
+        frameBudgetNanos = (long) (frameBudget.toMillis() * 1_000_000);
+    }
+
+    /**
+     * the time that can be spent on creating and showing notifications in one pulse
+     *
+     * @return Duration
+     */
+    public Duration getFrameBudget() {
+        return Duration.millis(frameBudgetNanos / 1_000_000.0);
+    }
+
+    /**
+     * measured average cost of creating and showing a notification
+     * <br>
+     * it's an exponentially weighted moving average, so it follows changes of the cost
+     *
+     * @return Duration
+     */
+    public Duration getAverageShowCost() {
+        return Duration.millis(averageShowCostNanos / 1_000_000.0);
+    }
+
+    /**
+     * number of the notifications that got a place and wait for the next pulse to be shown
+     *
+     * @return int
+     */
+    public int getReadyCount() {
+        return ready.size();
+    }
+
+    /**
+     * number of the visible notifications at the position, including the ready ones
+     *
+     * @param position NotificationPosition
+     * @return int
+     */
+    public int getVisibleCount(@NotNull NotificationPosition position) {
+        var lane = lanes.get(position);
+        return lane != null ? lane.visible : 0;
+    }
+
+    /**
+     * number of the waiting notifications at the position
+     *
+     * @param position NotificationPosition
+     * @return int
+     */
+    public int getBacklogSize(@NotNull NotificationPosition position) {
+        var lane = lanes.get(position);
+        return lane != null ? lane.byAge.size() : 0;
+    }
+
+    /**
+     * number of the notifications that were rejected, dropped from the backlog or failed to show
+     *
+     * @return long
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * removes every waiting notification without showing it
+     */
+    public void clearBacklog() {
+        for (Lane lane : lanes.values()) {
+            for (Pending pending : lane.byAge)
+                forget(pending);
+            lane.byAge.clear();
+            lane.byPriority.clear();
+            hideSummary(lane);
+        }
+    }
+
+    /**
+     * sets the window that posted specs with the same coalescing key are merged in,
+     * the window starts again on every repeat
+     *
+     * @param window coalescing window, zero by default that disables coalescing
+     */
+    public void setCoalescingWindow(@NotNull Duration window) {
+        coalescingWindowNanos = (long) (window.toMillis() * 1_000_000);
+        if (coalescingWindowNanos <= 0) {
+            for (Pending pending : coalescing.values())
+                pending.coalescingKey = null;
+            coalescing.clear();
+        }
+    }
+
+    /**
+     * the window that posted specs with the same coalescing key are merged in
+     *
+     * @return Duration
+     */
+    public Duration getCoalescingWindow() {
+        return Duration.millis(coalescingWindowNanos / 1_000_000.0);
+    }
+
+    /**
+     * sets the function that gives the coalescing key of a spec,
+     * by default the id of the spec or its title and message if it doesn't have an id
+     *
+     * @param keyFunction coalescing key function, specs with a null key aren't coalesced
+     */
+    public void setCoalescingKey(@NotNull Function<NotificationSpec, ?> keyFunction) {
+        coalescingKey = keyFunction;
+    }
+
+    /**
+     * sets the number of visible notifications per position that the waiting notifications are folded above
+     *
+     * @param collapseThreshold collapse threshold, zero by default that disables folding by count
+     */
+    public void setCollapseThreshold(int collapseThreshold) {
+        this.collapseThreshold = Math.max(0, collapseThreshold);
+        for (Lane lane : lanes.values())
+            collapse(lane);
+    }
+
+    /**
+     * the number of visible notifications per position that the waiting notifications are folded above
+     *
+     * @return int
+     */
+    public int getCollapseThreshold() {
+        return collapseThreshold;
+    }
+
+    /**
+     * sets the height of the visible notifications per position that the waiting notifications are folded above
+     *
+     * @param collapseHeight collapse height, zero by default that disables folding by height
+     */
+    public void setCollapseHeight(double collapseHeight) {
+        this.collapseHeight = Math.max(0, collapseHeight);
+        for (Lane lane : lanes.values())
+            collapse(lane);
+    }
+
+    /**
+     * the height of the visible notifications per position that the waiting notifications are folded above
+     *
+     * @return double
+     */
+    public double getCollapseHeight() {
+        return collapseHeight;
+    }
+
+    /**
+     * number of the folded notifications at the position
+     *
+     * @param position NotificationPosition
+     * @return int
+     */
+    public int getFoldedCount(@NotNull NotificationPosition position) {
+        var lane = lanes.get(position);
+        return lane != null && isCollapsed(lane) ? lane.byAge.size() : 0;
+    }
+
+    /**
+     * shows the folded notifications of the position, those that don't fit in maxVisible wait in the backlog.
+     * Folding of the position is paused until it has fewer notifications than the collapse threshold
+     *
+     * @param position NotificationPosition
+     */
+    public void expand(@NotNull NotificationPosition position) {
+        var lane = lanes.get(position);
+        if (lane == null || !isCollapsed(lane))
+            return;
+
+        lane.expanded = true;
+        promote(lane);
+    }
+
+    /**
+     * removes the folded notifications of the position without showing them
+     *
+     * @param position NotificationPosition
+     */
+    public void dismissFolded(@NotNull NotificationPosition position) {
+        var lane = lanes.get(position);
+        if (lane == null || !isCollapsed(lane))
+            return;
+
+        for (Pending pending : lane.byAge)
+            forget(pending);
+        lane.byAge.clear();
+        lane.byPriority.clear();
+        hideSummary(lane);
+    }
+
+    /**
+     * @return true if the lane can show one more notification
+     */
+    private boolean hasRoom(Lane lane) {
+        if (lane.visible >= maxVisible)
+            return false;
+        if (lane.expanded)
+            return true;
+        if (collapseThreshold > 0 && lane.visible >= collapseThreshold)
+            return false;
+        // the height of a notification is only known once it's shown, so they are shown one at a time
+        return collapseHeight <= 0 || lane.visible == 0 ||
+                (lane.visible == lane.shown.size() && lane.getShownHeight() < collapseHeight);
+    }
+
+    /**
+     * @return true if the backlog of the lane is folded into its summary
+     */
+    private boolean isCollapsed(Lane lane) {
+        return !lane.expanded && !lane.byAge.isEmpty() && (
+                (collapseThreshold > 0 && collapseThreshold < maxVisible && lane.visible >= collapseThreshold) ||
+                (collapseHeight > 0 && lane.getShownHeight() >= collapseHeight));
+    }
+
+    private void collapse(Lane lane) {
+        if (!lane.expanded && (collapseThreshold > 0 || collapseHeight > 0)) {
+            while (lane.shown.size() > 1 && (
+                    (collapseThreshold > 0 && lane.shown.size() > collapseThreshold) ||
+                    (collapseHeight > 0 && lane.getShownHeight() > collapseHeight)))
+                fold(lane.shown.iterator().next());
+        }
+        promote(lane);
+    }
+
+    private void fold(Pending pending) {
+        var lane = pending.lane;
+        pending.folding = true;
+        lane.shown.remove(pending);
+        pending.notification.hide();
+        if (pending.spec != null) {
+            // the notification goes back to its pool or is collected, it's created again from the spec
+            pending.notification = null;
+        }
+        lane.add(pending);
+    }
+
+    private void updateSummary(Lane lane) {
+        if (!isCollapsed(lane)) {
+            hideSummary(lane);
+            return;
+        }
+
+        if (lane.summary == null) {
+            lane.summary = new NotificationSummary();
+            lane.summary.setPosition(lane.position);
+            lane.summary.setOnExpand(() -> expand(lane.position));
+            lane.summary.setOnDismiss(() -> dismissFolded(lane.position));
+        }
+        lane.summary.setCount(lane.byAge.size());
+        if (!lane.summary.isDisplayed()) {
+            var first = lane.byAge.first();
+            lane.summary.setScreenTarget(first.spec != null ?
+                    first.spec.getScreenTarget() : first.notification.getScreenTarget());
+            lane.summary.show(first.owner);
+        }
+    }
+
+    private void hideSummary(Lane lane) {
+        if (lane.summary != null && lane.summary.isDisplayed())
+            lane.summary.hide();
+    }
+
+    private void discard(Pending pending) {
+        pending.lane.remove(pending);
+        forget(pending);
+        updateSummary(pending.lane);
+    }
+
+    private void forget(Pending pending) {
+        if (pending.coalescingKey != null && coalescing.get(pending.coalescingKey) == pending)
+            coalescing.remove(pending.coalescingKey);
+        pending.coalescingKey = null;
+    }
+
+    private Lane laneOf(NotificationPosition position) {
+        return lanes.computeIfAbsent(position, Lane::new);
+    }
+
+    private void show(Pending pending) {
+        // take the place now, the notification is created and shown on the next pulses
+        pending.lane.visible++;
+        ready.add(pending);
+        if (showTimer == null) {
+            showTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    showReady();
+                }
+            };
+        }
+        showTimer.start();
+    }
+
+    private void showReady() {
+        var start = System.nanoTime();
+        do {
+            var pending = ready.poll();
+            if (pending == null)
+                break;
+
+            var before = System.nanoTime();
+            if (pending.notification == null) {
+                var notification = notificationPool != null ?
+                        notificationPool.acquire(pending.spec) : pending.spec.createNotification();
+                notification.setCount(pending.count);
+                pending.notification = notification;
+            }
+            pending.notification.addEventHandler(WindowEvent.WINDOW_HIDDEN, pending);
+            try {
+                pending.notification.show(pending.owner);
+            } catch (RuntimeException e) {
+                // e.g. the owner window is gone, give the place back and continue with the others
+                e.printStackTrace();
+                pending.notification.removeEventHandler(WindowEvent.WINDOW_HIDDEN, pending);
+                pending.lane.visible--;
+                droppedCount++;
+                forget(pending);
+                promote(pending.lane);
+                continue;
+            }
+            pending.lane.shown.add(pending);
+            // with a collapse height the next notification waits for the height of this one
+            promote(pending.lane);
+            var cost = System.nanoTime() - before;
+            averageShowCostNanos = averageShowCostNanos == 0 ? cost : averageShowCostNanos + (cost - averageShowCostNanos) / 8;
+        } while (System.nanoTime() - start + averageShowCostNanos <= frameBudgetNanos);
+
+        if (ready.isEmpty())
+            showTimer.stop();
+    }
+
+    private void promote(Lane lane) {
+        while (hasRoom(lane) && !lane.byAge.isEmpty()) {
+            var next = promotionPolicy == PromotionPolicy.PRIORITY ? lane.byPriority.first() : lane.byAge.first();
+            lane.remove(next);
+            show(next);
+        }
+        updateSummary(lane);
+    }
+
+    /**
+     * order of showing the waiting notifications
+     */
+    public enum PromotionPolicy {
+        /**
+         * the oldest notification is shown first
+         */
+        FIFO,
+        /**
+         * the notification with the highest priority is shown first, then the oldest one
+         */
+        PRIORITY
+    }
+
+    /**
+     * which notification is dropped when the backlog is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * the oldest waiting notification is dropped
+         */
+        DROP_OLDEST,
+        /**
+         * the waiting notification with the lowest priority is dropped, the new notification if its priority is the lowest
+         */
+        DROP_LOWEST_PRIORITY,
+        /**
+         * the new notification is rejected
+         */
+        REJECT
+    }
+
+    private static final class Lane {
+        private final NotificationPosition position;
+        private final TreeSet<Pending> byAge = new TreeSet<>(AGE_ORDER);
+        private final TreeSet<Pending> byPriority = new TreeSet<>(PRIORITY_ORDER);
+        // shown notifications in show order, oldest first
+        private final LinkedHashSet<Pending> shown = new LinkedHashSet<>();
+        private NotificationSummary summary;
+        private boolean expanded;
+        private int visible;
+
+        private Lane(NotificationPosition position) {
+            this.position = position;
+        }
+
+        private double getShownHeight() {
+            var height = 0.0;
+            for (Pending pending : shown)
+                height += pending.notification.getDisplayedHeight();
+
+            return height;
+        }
+
+        private void add(Pending pending) {
+            byAge.add(pending);
+            byPriority.add(pending);
+        }
+
+        private void remove(Pending pending) {
+            byAge.remove(pending);
+            byPriority.remove(pending);
+        }
+    }
+
+    private final class Pending implements EventHandler<WindowEvent> {
+        private final Lane lane;
+        private final NotificationSpec spec;
+        private final Window owner;
+        private final int priority;
+        private final long sequence;
+        private PopupNotification notification;
+        private Object coalescingKey;
+        private long lastPostedNanos;
+        private int count = 1;
+        private boolean folding;
+
+        private Pending(Lane lane, PopupNotification notification, NotificationSpec spec, Window owner, int priority, long sequence) {
+            this.lane = lane;
+            this.notification = notification;
+            this.spec = spec;
+            this.owner = owner;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        private void repeat(long now) {
+            count++;
+            lastPostedNanos = now;
+            if (notification instanceof SimplePopupNotification simpleNotification) {
+                simpleNotification.setCount(count);
+                simpleNotification.restartExpiry();
+            }
+        }
+
+        @Override
+        public void handle(WindowEvent windowEvent) {
+            notification.removeEventHandler(WindowEvent.WINDOW_HIDDEN, this);
+            lane.shown.remove(this);
+            lane.visible--;
+            if (folding) {
+                // the folded notification waits in the backlog, collapse() promotes the others
+                folding = false;
+                return;
+            }
+
+            forget(this);
+            if (lane.expanded && lane.visible < Math.max(collapseThreshold, 1))
+                lane.expanded = false;
+            promote(lane);
+        }
+    }
+}
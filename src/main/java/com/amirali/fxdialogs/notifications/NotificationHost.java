@@ -0,0 +1,32 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.scene.Parent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * @author Amir Ali
+ *
+ * hosts the content of PopupNotifications instead of their own popup windows
+ * <br>
+ * when a PopupNotification has a host, showing it moves its content to the host and fires the window events
+ * of the notification, so the PopupNotification API and its event handlers work the same way
+ */
+
+public interface NotificationHost {
+
+    /**
+     * adds the content of a shown notification
+     *
+     * @param notification shown notification
+     * @param content content of the notification
+     */
+    void add(@NotNull PopupNotification notification, @NotNull Parent content);
+
+    /**
+     * removes the content of a hidden notification
+     *
+     * @param notification hidden notification
+     * @param content content of the notification
+     */
+    void remove(@NotNull PopupNotification notification, @NotNull Parent content);
+}
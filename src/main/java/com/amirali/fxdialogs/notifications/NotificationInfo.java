@@ -2,4 +2,54 @@ package com.amirali.fxdialogs.notifications;
 
 import org.jetbrains.annotations.NotNull;
 
-record NotificationInfo(@NotNull NotificationPosition position, @NotNull String id, double height) {}
\ No newline at end of file
+/**
+ * @author Amir Ali
+ * @param position position of the notification
+ * @param id id of the notification
+ * @param height height of the notification
+ * @param pid id of the process that shows the notification
+ * @param leaseExpiry time in milliseconds since epoch when the entry expires unless its process renews it
+ */
+public record NotificationInfo(@NotNull NotificationPosition position, @NotNull String id, double height, long pid, long leaseExpiry) {
+
+    /**
+     * initial notification info owned by the current process with a fresh lease
+     *
+     * @param position position of the notification
+     * @param id id of the notification
+     * @param height height of the notification
+     */
+    public NotificationInfo(@NotNull NotificationPosition position, @NotNull String id, double height) {
+        this(position, id, height, NotificationLeases.PID, NotificationLeases.newLeaseExpiry());
+    }
+
+    /**
+     * returns true if the owning process is gone or the lease is expired
+     *
+     * @param now current time in milliseconds since epoch
+     * @return boolean
+     */
+    public boolean isStale(long now) {
+        return leaseExpiry < now || !NotificationLeases.isAlive(pid);
+    }
+
+    /**
+     * returns a copy of the notification info with a new height
+     *
+     * @param height new height
+     * @return NotificationInfo
+     */
+    public NotificationInfo withHeight(double height) {
+        return new NotificationInfo(position, id, height, pid, leaseExpiry);
+    }
+
+    /**
+     * returns a copy of the notification info with the lease renewed
+     *
+     * @param leaseExpiry new lease expiry
+     * @return NotificationInfo
+     */
+    public NotificationInfo withLeaseExpiry(long leaseExpiry) {
+        return new NotificationInfo(position, id, height, pid, leaseExpiry);
+    }
+}
@@ -1,113 +1,276 @@
 package com.amirali.fxdialogs.notifications;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.*;
-import java.nio.file.Files;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.*;
 import java.nio.file.attribute.DosFileAttributeView;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
 
 /**
  * @author Amir Ali
+ *
+ * write-behind logger of the notifications info
+ * <br>
+ * save and removeIf only enqueue the change, a background writer merges every burst of changes
+ * into a single write of the NotificationInfoStore
+ * <br>
+ * the waiting changes are coalesced by notification id and the last one wins, so they are bounded by the number
+ * of the notifications and no change is dropped or makes the caller wait
  */
 
 final class NotificationInfoLogger {
 
+    private static final long SHUTDOWN_FLUSH_TIMEOUT = 2000;
+
+    private static final Object lock = new Object();
+    // waiting changes by notification id, guarded by lock
+    private static final Map<String, Operation> pending = new LinkedHashMap<>();
+    private static boolean compactPending;
+    private static long enqueuedCount, writtenCount;
+    private static Thread writer;
+    private static volatile NotificationInfoStore store;
+    private static volatile boolean staleSeen;
+
+    private NotificationInfoLogger() {}
+
     /**
-     * save notification info to json file
+     * sets the store that the logs are written to
      *
-     * @param info notification info
-     * @throws IOException file reader,writer exception
+     * @param store NotificationInfoStore
+     */
+    public static void setStore(@NotNull NotificationInfoStore store) {
+        NotificationInfoLogger.store = store;
+    }
+
+    /**
+     * returns the store that the logs are written to
+     * <br>
+     * the first store provided through ServiceLoader is used by default, otherwise the JsonNotificationInfoStore
+     *
+     * @return NotificationInfoStore
      */
-    public static void save(@NotNull NotificationInfo info) throws IOException {
-        var file = getFile();
-        var gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
-        var writer = new FileWriter(file);
-        if (Files.exists(file.toPath())) {
-            var reader = new FileReader(file);
-            var data = gson.fromJson(reader, NotificationInfo[].class);
-            reader.close();
-            if (data != null && data.length > 0) {
-                var dataList = new ArrayList<>(List.of(data));
-                dataList.add(info);
-                gson.toJson(dataList, writer);
-            }else {
-                gson.toJson(new NotificationInfo[]{info}, writer);
+    public static NotificationInfoStore getStore() {
+        var current = store;
+        if (current == null) {
+            synchronized (lock) {
+                if (store == null) {
+                    store = ServiceLoader.load(NotificationInfoStore.class)
+                            .findFirst()
+                            .orElseGet(JsonNotificationInfoStore::new);
+                }
+                current = store;
             }
-        }else {
-            gson.toJson(new NotificationInfo[]{info}, writer);
         }
-        writer.flush();
-        writer.close();
+
+        return current;
+    }
+
+    /**
+     * enqueues saving notification info to the store
+     *
+     * @param info notification info
+     */
+    public static void save(@NotNull NotificationInfo info) {
+        enqueue(new Operation(Operation.Kind.SAVE, info));
     }
 
     /**
-     * remove if notification id is exists
+     * enqueues removing notification info from the store if notification id is exists
      *
      * @param info NotificationInfo
-     * @throws IOException file reader,writer exception
      */
-    public static void removeIf(@NotNull NotificationInfo info) throws IOException {
-        var file = getFile();
-        if (Files.notExists(file.toPath()))
-            return;
-
-        var gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
-        var reader = new FileReader(file);
-        var data = gson.fromJson(reader, NotificationInfo[].class);
-        reader.close();
-        if (data != null && data.length > 0) {
-            var dataList = new ArrayList<>(List.of(data));
-            dataList.removeIf(predicate -> predicate.id().equals(info.id()));
-            var writer = new FileWriter(file);
-            gson.toJson(dataList, writer);
-            writer.flush();
-            writer.close();
+    public static void removeIf(@NotNull NotificationInfo info) {
+        enqueue(new Operation(Operation.Kind.REMOVE, info));
+    }
+
+    /**
+     * enqueues renewing the leases of this process and dropping the stale entries of the store
+     */
+    public static void compact() {
+        enqueue(new Operation(Operation.Kind.COMPACT, null));
+    }
+
+    /**
+     * @return true if the last write of the store saw entries whose process is gone or whose lease is expired
+     */
+    static boolean hasStaleEntries() {
+        return staleSeen;
+    }
+
+    /**
+     * waits until every change enqueued before the call is written to the store
+     *
+     * @param timeout maximum time to wait in milliseconds
+     * @return true if the changes are written before timeout
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public static boolean flush(long timeout) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + timeout;
+        synchronized (lock) {
+            var target = enqueuedCount;
+            while (writtenCount < target) {
+                var remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                lock.wait(remaining);
+            }
         }
+
+        return true;
     }
 
     /**
-     * returns list of notifications info if json file is exists
+     * returns list of notifications info from the store
      *
      * @return List
-     * @throws IOException file reader,writer exception
+     * @throws IOException storage exception
      */
     public static List<NotificationInfo> getNotificationsInfo() throws IOException {
-        var file = getFile();
-        if (Files.exists(file.toPath())) {
-            var gson = new Gson();
-            var reader = new FileReader(file);
-            var data = gson.fromJson(reader, NotificationInfo[].class);
-            reader.close();
-            if (data != null && data.length > 0)
-                return new ArrayList<>(List.of(data));
+        return new ArrayList<>(getStore().load());
+    }
+
+    private static void enqueue(Operation operation) {
+        synchronized (lock) {
+            if (writer == null)
+                startWriter();
+            // the caller is usually the JavaFX application thread, a newer change of the same notification
+            // replaces the waiting one, e.g. a remove replaces the save of a notification that wasn't written yet
+            if (operation.kind() == Operation.Kind.COMPACT)
+                compactPending = true;
+            else
+                pending.put(operation.info().id(), operation);
+            enqueuedCount++;
+            lock.notifyAll();
         }
-        return new ArrayList<>();
-    }
-
-    private static File getFile() throws IOException {
-        var file = new File(
-                System.getProperty("user.home") +
-                        File.separator +
-                        ".fxdialogs" +
-                        File.separator +
-                        "notification-logs.json"
-        );
-        var parent = file.getParentFile();
-
-        if (!Files.exists(parent.toPath())) {
-            Files.createDirectories(parent.toPath());
-            var dosFileAttributeView = Files.getFileAttributeView(parent.toPath(), DosFileAttributeView.class);
-            dosFileAttributeView.setHidden(true);
+    }
+
+    private static void startWriter() {
+        writer = new Thread(() -> {
+            while (true) {
+                List<Operation> batch;
+                boolean compact;
+                long target;
+                synchronized (lock) {
+                    try {
+                        while (pending.isEmpty() && !compactPending)
+                            lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    compact = compactPending;
+                    compactPending = false;
+                    target = enqueuedCount;
+                }
+                try {
+                    write(batch, compact);
+                } catch (IOException | RuntimeException e) {
+                    // a broken store must not stop the writer
+                    e.printStackTrace();
+                } finally {
+                    markWritten(target);
+                }
+            }
+        }, "fxdialogs-notification-logger");
+        writer.setDaemon(true);
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                flush(SHUTDOWN_FLUSH_TIMEOUT);
+            } catch (InterruptedException ignored) {}
+        }, "fxdialogs-notification-logger-shutdown"));
+    }
+
+    private static void markWritten(long target) {
+        synchronized (lock) {
+            writtenCount = target;
+            lock.notifyAll();
+        }
+    }
+
+    private static void write(List<Operation> batch, boolean compact) throws IOException {
+        var currentStore = getStore();
+        var entries = new LinkedHashMap<String, NotificationInfo>();
+        var loadedAt = System.currentTimeMillis();
+        for (NotificationInfo info : currentStore.load()) {
+            if (info.isStale(loadedAt))
+                staleSeen = true;
+            entries.put(info.id(), info);
+        }
+        for (Operation operation : batch) {
+            if (operation.kind() == Operation.Kind.SAVE)
+                entries.put(operation.info().id(), operation.info());
+            else
+                entries.remove(operation.info().id());
+        }
+        if (compact) {
+            var now = System.currentTimeMillis();
+            var leaseExpiry = NotificationLeases.newLeaseExpiry();
+            entries.replaceAll((id, info) -> info.pid() == NotificationLeases.PID ? info.withLeaseExpiry(leaseExpiry) : info);
+            entries.values().removeIf(info -> info.isStale(now));
+            staleSeen = false;
+        }
+
+        currentStore.store(entries.values());
+    }
+
+    /**
+     * writes a file to a temp file next to it and then moves the temp file over the file
+     *
+     * @param file target file
+     * @param content writes the content to the temp file
+     * @throws IOException file writer exception
+     */
+    static void writeAtomically(@NotNull Path file, @NotNull ContentWriter content) throws IOException {
+        var temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (var outputStream = Files.newOutputStream(temp)) {
+                content.write(outputStream);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * returns <b>~/.fxdialogs</b> directory and creates it if it doesn't exist
+     *
+     * @return Path
+     * @throws IOException directory creation exception
+     */
+    static Path getDirectory() throws IOException {
+        var directory = Paths.get(System.getProperty("user.home"), ".fxdialogs");
+
+        if (!Files.exists(directory)) {
+            Files.createDirectories(directory);
+            var dosFileAttributeView = Files.getFileAttributeView(directory, DosFileAttributeView.class);
+            if (dosFileAttributeView != null)
+                dosFileAttributeView.setHidden(true);
+        }
+
+        return directory;
+    }
+
+    private record Operation(Kind kind, NotificationInfo info) {
+        enum Kind {
+            SAVE, REMOVE, COMPACT
         }
+    }
 
-        return file;
+    interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
     }
-}
\ No newline at end of file
+}
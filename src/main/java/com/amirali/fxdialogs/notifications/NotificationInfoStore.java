@@ -0,0 +1,36 @@
+package com.amirali.fxdialogs.notifications;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * storage backend of the notification logs
+ * <br>
+ * the store is only accessed by the background writer of the logs, one call at a time.
+ * A store can be selected with {@link PopupNotification#setNotificationInfoStore(NotificationInfoStore)}
+ * or provided through {@link java.util.ServiceLoader}
+ */
+
+public interface NotificationInfoStore {
+
+    /**
+     * loads the stored notifications info
+     *
+     * @return List
+     * @throws IOException storage exception
+     */
+    List<NotificationInfo> load() throws IOException;
+
+    /**
+     * replaces the stored notifications info
+     *
+     * @param infos notifications info
+     * @throws IOException storage exception
+     */
+    void store(@NotNull Collection<NotificationInfo> infos) throws IOException;
+}
@@ -0,0 +1,72 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.layout.VBox;
+
+/**
+ * @author Amir Ali
+ *
+ * column of the hosted notifications of one NotificationPosition
+ * <br>
+ * the first notification stays at the edge and the next ones are stacked toward the center, like the popup stacks
+ */
+
+final class NotificationLane extends VBox {
+
+    private final boolean bottom;
+
+    /**
+     * @param position position of the lane
+     */
+    NotificationLane(NotificationPosition position) {
+        getStyleClass().add("notification-lane");
+        setFillWidth(false);
+        // only the notifications take the mouse events
+        setPickOnBounds(false);
+        setAlignment(switch (position) {
+            case BOTTOM_RIGHT -> Pos.BOTTOM_RIGHT;
+            case BOTTOM_LEFT -> Pos.BOTTOM_LEFT;
+            case CENTER_BOTTOM -> Pos.BOTTOM_CENTER;
+            case TOP_RIGHT -> Pos.TOP_RIGHT;
+            case TOP_LEFT -> Pos.TOP_LEFT;
+            case CENTER_TOP -> Pos.TOP_CENTER;
+        });
+        bottom = switch (position) {
+            case BOTTOM_RIGHT, BOTTOM_LEFT, CENTER_BOTTOM -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * adds a notification on top of the stack
+     *
+     * @param content content of the notification
+     * @param margin margin of the notification
+     */
+    void add(Parent content, Insets margin) {
+        VBox.setMargin(content, margin);
+        if (bottom)
+            getChildren().add(0, content);
+        else
+            getChildren().add(content);
+    }
+
+    /**
+     * removes a notification
+     *
+     * @param content content of the notification
+     */
+    void remove(Parent content) {
+        getChildren().remove(content);
+        VBox.setMargin(content, null);
+    }
+
+    /**
+     * @return true if the first notification is at the bottom edge
+     */
+    boolean isBottom() {
+        return bottom;
+    }
+}
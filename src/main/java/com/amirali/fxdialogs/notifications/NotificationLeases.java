@@ -0,0 +1,92 @@
+package com.amirali.fxdialogs.notifications;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Amir Ali
+ *
+ * lease bookkeeping of the shared notification entries
+ * <br>
+ * every entry is tagged with its owning pid and a lease, a periodic compaction renews the leases of this process
+ * and drops the entries whose process is gone or whose lease is expired, e.g. after a crash
+ */
+
+final class NotificationLeases {
+
+    /**
+     * lease duration in milliseconds
+     */
+    static final long LEASE_DURATION = 30_000;
+    private static final long COMPACTION_PERIOD = LEASE_DURATION / 3;
+    private static final long FOREIGN_REFRESH_PERIOD = 500;
+
+    /**
+     * id of the current process
+     */
+    static final long PID = ProcessHandle.current().pid();
+
+    // the mirrored leases are renewed once they are half expired
+    private static final long MIRROR_RENEWAL_AGE = LEASE_DURATION / 2;
+
+    private static ScheduledExecutorService compactor;
+    private static long lastMirrorRenewal;
+
+    private NotificationLeases() {}
+
+    /**
+     * @return lease expiry of an entry renewed now
+     */
+    static long newLeaseExpiry() {
+        return System.currentTimeMillis() + LEASE_DURATION;
+    }
+
+    /**
+     * @param pid process id
+     * @return true if the process is alive
+     */
+    static boolean isAlive(long pid) {
+        if (pid == PID)
+            return true;
+
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    /**
+     * starts the periodic compaction and the refresh of the heights of the other processes' notifications
+     * if they aren't started yet, the first passes run immediately
+     */
+    static synchronized void startCompaction() {
+        if (compactor != null)
+            return;
+
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "fxdialogs-notification-leases");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(NotificationLeases::compact, 0, COMPACTION_PERIOD, TimeUnit.MILLISECONDS);
+        compactor.scheduleWithFixedDelay(NotificationRegistry::refreshForeignHeights, 0, FOREIGN_REFRESH_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    private static void compact() {
+        if (NotificationRegistry.isCrossProcessEnabled()) {
+            try {
+                NotificationSlotTable.compact(newLeaseExpiry());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        if (NotificationRegistry.isMirrorEnabled()) {
+            // compacting rewrites the whole store, only do it when a lease needs renewing or a stale entry was seen
+            var now = System.currentTimeMillis();
+            var renewalDue = NotificationRegistry.hasEntries() && now - lastMirrorRenewal >= MIRROR_RENEWAL_AGE;
+            if (renewalDue || NotificationInfoLogger.hasStaleEntries()) {
+                lastMirrorRenewal = now;
+                NotificationInfoLogger.compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.application.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Amir Ali
+ *
+ * process-wide in-memory registry of the shown notifications, grouped by screen and NotificationPosition and keyed by id
+ * <br>
+ * each position of each screen is laid out in columns of NotificationStacks. A new notification goes to the first column
+ * that still has room in the visual bounds, so full columns wrap toward the center of the screen. Offsets come from
+ * the cached column offset and the prefix sum of its column, and closing or resizing a notification only moves
+ * the notifications above it in the same column. Notifications of other processes are shared
+ * through the NotificationSlotTable and the json logs are only an optional mirror of this registry
+ * that is written behind by the NotificationInfoLogger
+ */
+
+final class NotificationRegistry {
+
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static final Map<StackKey, List<Column>> layouts = new HashMap<>();
+    // refreshed by the lease thread, so laying out doesn't scan the slot table on the JavaFX application thread
+    private static volatile Map<Integer, Double> foreignHeights = Map.of();
+    private static volatile boolean mirrorEnabled;
+    private static boolean crossProcessEnabled = true, wrappingEnabled = true;
+
+    private NotificationRegistry() {}
+
+    /**
+     * registers a shown notification on top of its stack
+     *
+     * @param notification shown notification
+     * @param info notification info
+     * @param screen index of the screen that the notification is shown on
+     * @param width width of the notification
+     * @param maxHeight height that a column can take, zero to never wrap
+     */
+    public static void register(@NotNull PopupNotification notification, @NotNull NotificationInfo info, int screen, double width, double maxHeight) {
+        NotificationLeases.startCompaction();
+        List<PopupNotification> moved;
+        synchronized (NotificationRegistry.class) {
+            var previous = entries.remove(info.id());
+            moved = previous != null ? removeEntry(previous) : List.of();
+
+            var entry = new Entry(notification, info, screen, claimSlot(info, screen));
+            entry.column = columnFor(screen, info.position(), info.height(), width, maxHeight);
+            entry.column.stack.add(entry);
+            entries.put(info.id(), entry);
+        }
+
+        if (mirrorEnabled)
+            NotificationInfoLogger.save(info);
+        relayout(moved);
+    }
+
+    /**
+     * unregisters a hidden notification and moves down the notifications above it
+     *
+     * @param notification hidden notification
+     * @param info notification info that was registered
+     */
+    public static void unregister(@NotNull PopupNotification notification, @NotNull NotificationInfo info) {
+        List<PopupNotification> moved;
+        synchronized (NotificationRegistry.class) {
+            var entry = entries.get(info.id());
+            if (entry == null || entry.notification != notification)
+                return;
+
+            entries.remove(info.id());
+            moved = removeEntry(entry);
+        }
+
+        if (mirrorEnabled)
+            NotificationInfoLogger.removeIf(info);
+        relayout(moved);
+    }
+
+    /**
+     * updates height of a shown notification and moves the notifications above it
+     *
+     * @param notification shown notification
+     * @param id id of the notification that was registered
+     * @param height new height
+     */
+    public static void resize(@NotNull PopupNotification notification, @NotNull String id, double height) {
+        var moved = new ArrayList<PopupNotification>();
+        NotificationInfo info;
+        synchronized (NotificationRegistry.class) {
+            var entry = entries.get(id);
+            if (entry == null || entry.notification != notification || entry.getHeight() == height)
+                return;
+
+            var stack = entry.column.stack;
+            stack.resize(entry, height);
+            stack.forEachAbove(entry, above -> moved.add(above.notification));
+            entry.info = info = entry.info.withHeight(height);
+            if (entry.tableSlot != -1) {
+                try {
+                    NotificationSlotTable.resize(entry.tableSlot, height);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        if (mirrorEnabled)
+            NotificationInfoLogger.save(info);
+        relayout(moved);
+    }
+
+    /**
+     * offset of a notification from the corner of its position, including the notifications of other processes
+     * <br>
+     * x is the offset of its column toward the center of the screen (signed for the center positions)
+     * and y is the total height of the notifications below it in its column.
+     * Returns the top of the last column if the notification isn't registered.
+     *
+     * @param notification notification
+     * @param screen index of the screen
+     * @param position NotificationPosition
+     * @param id id of the notification
+     * @return Delta
+     */
+    public static synchronized Delta getOffset(@NotNull PopupNotification notification, int screen, @NotNull NotificationPosition position, String id) {
+        var columns = columnsOf(screen, position);
+        var entry = id != null ? entries.get(id) : null;
+        Column column;
+        double height;
+        if (entry != null && entry.notification == notification && entry.screen == screen && entry.info.position() == position) {
+            column = entry.column;
+            height = column.stack.offsetOf(entry);
+        }else if (!columns.isEmpty()) {
+            column = columns.get(columns.size() - 1);
+            height = column.stack.getHeight();
+        }else {
+            return new Delta(0, getForeignHeight(screen, position));
+        }
+
+        // notifications of other processes are in the first column
+        if (column.index == 0)
+            height += getForeignHeight(screen, position);
+
+        return new Delta(column.offset, height);
+    }
+
+    /**
+     * moves every shown notification to its current place, e.g. after the screens are changed
+     */
+    public static void relayoutAll() {
+        List<PopupNotification> notifications;
+        synchronized (NotificationRegistry.class) {
+            notifications = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values())
+                notifications.add(entry.notification);
+        }
+
+        relayout(notifications);
+    }
+
+    /**
+     * @return true if this process has shown notifications
+     */
+    static synchronized boolean hasEntries() {
+        return !entries.isEmpty();
+    }
+
+    /**
+     * enables or disables sharing the notifications with other processes through the NotificationSlotTable
+     *
+     * @param enabled sharing state
+     */
+    public static synchronized void setCrossProcessEnabled(boolean enabled) {
+        crossProcessEnabled = enabled;
+    }
+
+    /**
+     * @return true if the notifications are shared with other processes
+     */
+    public static synchronized boolean isCrossProcessEnabled() {
+        return crossProcessEnabled;
+    }
+
+    /**
+     * enables or disables wrapping full columns toward the center of the screen
+     *
+     * @param enabled wrapping state
+     */
+    public static synchronized void setWrappingEnabled(boolean enabled) {
+        wrappingEnabled = enabled;
+    }
+
+    /**
+     * @return true if full columns wrap toward the center of the screen
+     */
+    public static synchronized boolean isWrappingEnabled() {
+        return wrappingEnabled;
+    }
+
+    /**
+     * enables or disables mirroring the registry to the json logs
+     *
+     * @param enabled mirror state
+     */
+    public static void setMirrorEnabled(boolean enabled) {
+        mirrorEnabled = enabled;
+    }
+
+    /**
+     * @return true if the registry is mirrored to the json logs
+     */
+    public static boolean isMirrorEnabled() {
+        return mirrorEnabled;
+    }
+
+    private static List<Column> columnsOf(int screen, NotificationPosition position) {
+        return layouts.computeIfAbsent(new StackKey(screen, position), key -> new ArrayList<>());
+    }
+
+    private static Column columnFor(int screen, NotificationPosition position, double height, double width, double maxHeight) {
+        var columns = columnsOf(screen, position);
+        if (!columns.isEmpty() && (!wrappingEnabled || maxHeight <= 0))
+            return columns.get(0);
+
+        // first fit, so columns emptied by closed notifications are filled again
+        for (Column column : columns) {
+            var used = column.stack.getHeight() + (column.index == 0 ? getForeignHeight(screen, position) : 0);
+            if (column.stack.size() == 0 || used + height <= maxHeight)
+                return column;
+        }
+
+        var index = columns.size();
+        double offset;
+        if (index == 0) {
+            offset = 0;
+        }else if (position == NotificationPosition.CENTER_BOTTOM || position == NotificationPosition.CENTER_TOP) {
+            // alternate between the right and the left of the first column
+            offset = (index % 2 == 1 ? 1 : -1) * ((index + 1) / 2) * columns.get(0).width;
+        }else {
+            var previous = columns.get(index - 1);
+            offset = previous.offset + previous.width;
+        }
+        var column = new Column(index, offset, width);
+        columns.add(column);
+
+        return column;
+    }
+
+    private static double getForeignHeight(int screen, NotificationPosition position) {
+        if (!crossProcessEnabled)
+            return 0;
+
+        return foreignHeights.getOrDefault(NotificationSlotTable.encodePosition(screen, position), 0.0);
+    }
+
+    /**
+     * reads the heights of the notifications of other processes from the NotificationSlotTable
+     * and moves the shown notifications if they are changed
+     */
+    static void refreshForeignHeights() {
+        Map<Integer, Double> refreshed = Map.of();
+        if (isCrossProcessEnabled()) {
+            try {
+                refreshed = NotificationSlotTable.getForeignHeights();
+            } catch (IOException e) {
+                e.printStackTrace();
+                setCrossProcessEnabled(false);
+            }
+        }
+
+        var changed = !refreshed.equals(foreignHeights);
+        foreignHeights = refreshed;
+        // another process showed or hid a notification, the offsets of the shown notifications are stale
+        if (changed && hasEntries())
+            Platform.runLater(NotificationRegistry::relayoutAll);
+    }
+
+    private static List<PopupNotification> removeEntry(Entry entry) {
+        var moved = new ArrayList<PopupNotification>();
+        var stack = entry.column.stack;
+        stack.forEachAbove(entry, above -> moved.add(above.notification));
+        stack.remove(entry);
+        freeSlot(entry.tableSlot);
+
+        // drop the empty columns at the end, the other columns keep their offsets
+        var columns = columnsOf(entry.screen, entry.info.position());
+        while (!columns.isEmpty() && columns.get(columns.size() - 1).stack.size() == 0)
+            columns.remove(columns.size() - 1);
+
+        return moved;
+    }
+
+    private static void relayout(List<PopupNotification> moved) {
+        for (PopupNotification notification : moved)
+            notification.applyPosition();
+    }
+
+    private static int claimSlot(NotificationInfo info, int screen) {
+        if (!crossProcessEnabled)
+            return -1;
+
+        try {
+            return NotificationSlotTable.claim(screen, info.position(), info.height());
+        } catch (IOException e) {
+            e.printStackTrace();
+            crossProcessEnabled = false;
+            return -1;
+        }
+    }
+
+    private static void freeSlot(int slot) {
+        if (slot == -1)
+            return;
+
+        try {
+            NotificationSlotTable.free(slot);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final class Entry extends NotificationStack.Item {
+        private final PopupNotification notification;
+        private final int screen, tableSlot;
+        private NotificationInfo info;
+        private Column column;
+
+        private Entry(PopupNotification notification, NotificationInfo info, int screen, int tableSlot) {
+            super(info.height());
+            this.notification = notification;
+            this.info = info;
+            this.screen = screen;
+            this.tableSlot = tableSlot;
+        }
+    }
+
+    private static final class Column {
+        private final NotificationStack<Entry> stack = new NotificationStack<>();
+        private final int index;
+        private final double offset, width;
+
+        private Column(int index, double offset, double width) {
+            this.index = index;
+            this.offset = offset;
+            this.width = width;
+        }
+    }
+
+    private record StackKey(int screen, NotificationPosition position) {}
+}
@@ -0,0 +1,114 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.robot.Robot;
+import javafx.stage.Screen;
+import javafx.stage.Window;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Amir Ali
+ *
+ * cached visual bounds of the screens that notifications are placed on
+ * <br>
+ * screens are identified by their index in Screen.getScreens(). The bounds are queried once
+ * and invalidated by a listener on Screen.getScreens(), so placing a notification doesn't query the screens.
+ * <br>
+ * <b>Note:</b> must be used on the JavaFX application thread
+ */
+
+final class NotificationScreens {
+
+    private static List<Rectangle2D> visualBounds;
+    private static int primaryScreen;
+    private static boolean listening;
+    private static Robot robot;
+
+    private NotificationScreens() {}
+
+    /**
+     * index of the screen that a notification should be shown on
+     *
+     * @param target ScreenTarget
+     * @param owner owner window of the notification or null
+     * @return int
+     */
+    public static int resolve(@NotNull ScreenTarget target, Window owner) {
+        var bounds = getVisualBounds();
+        return switch (target) {
+            case PRIMARY -> primaryScreen;
+            case OWNER -> owner != null ?
+                    indexAt(bounds, owner.getX() + owner.getWidth() / 2, owner.getY() + owner.getHeight() / 2) :
+                    primaryScreen;
+            case MOUSE -> {
+                if (robot == null)
+                    robot = new Robot();
+                var mouse = robot.getMousePosition();
+                yield indexAt(bounds, mouse.getX(), mouse.getY());
+            }
+        };
+    }
+
+    /**
+     * visual bounds of a screen or of the primary screen if the screen doesn't exist anymore
+     *
+     * @param screen index of the screen
+     * @return Rectangle2D
+     */
+    public static Rectangle2D getVisualBounds(int screen) {
+        var bounds = getVisualBounds();
+        return bounds.get(screen >= 0 && screen < bounds.size() ? screen : primaryScreen);
+    }
+
+    private static List<Rectangle2D> getVisualBounds() {
+        if (visualBounds != null)
+            return visualBounds;
+
+        var screens = Screen.getScreens();
+        if (!listening) {
+            screens.addListener((ListChangeListener<Screen>) change -> {
+                visualBounds = null;
+                NotificationRegistry.relayoutAll();
+                OverlayNotificationHost.relayoutAll();
+            });
+            listening = true;
+        }
+
+        var bounds = new ArrayList<Rectangle2D>(screens.size());
+        var primary = Screen.getPrimary();
+        primaryScreen = 0;
+        for (int i = 0; i < screens.size(); i++) {
+            if (screens.get(i).equals(primary))
+                primaryScreen = i;
+            bounds.add(screens.get(i).getVisualBounds());
+        }
+        visualBounds = bounds;
+
+        return bounds;
+    }
+
+    private static int indexAt(List<Rectangle2D> bounds, double x, double y) {
+        var nearest = primaryScreen;
+        var nearestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < bounds.size(); i++) {
+            var screen = bounds.get(i);
+            if (screen.contains(x, y))
+                return i;
+
+            // the point is outside of the visual bounds, e.g. on a taskbar, take the nearest screen
+            var dx = Math.max(0, Math.max(screen.getMinX() - x, x - screen.getMaxX()));
+            var dy = Math.max(0, Math.max(screen.getMinY() - y, y - screen.getMaxY()));
+            var distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+
+        return nearest;
+    }
+}
@@ -0,0 +1,248 @@
+package com.amirali.fxdialogs.notifications;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Amir Ali
+ *
+ * fixed-layout slot table shared by all processes through a memory-mapped file,
+ * so popups of different processes can be stacked without overlapping
+ * <br>
+ * layout: a header of {@value #HEADER_SIZE} bytes followed by {@value #SLOT_COUNT} slots of {@value #SLOT_SIZE} bytes
+ * <pre>
+ * header: int magic | int version | int slot count | int slot size
+ * slot:   int state | int screen and position | long pid | double height | long lease expiry
+ * </pre>
+ * the screen index is kept in the upper bits of the position, so every screen has its own stacks
+ * every access is guarded by a short FileChannel lock over the touched region
+ */
+
+final class NotificationSlotTable {
+
+    private static final int MAGIC = 0x46584E53;
+    private static final int VERSION = 3;
+    static final int HEADER_SIZE = 16;
+    static final int SLOT_COUNT = 256;
+    static final int SLOT_SIZE = 32;
+    private static final int TABLE_SIZE = HEADER_SIZE + SLOT_COUNT * SLOT_SIZE;
+
+    private static final int STATE_FREE = 0;
+    private static final int STATE_USED = 1;
+
+    // offsets inside a slot
+    private static final int STATE = 0;
+    private static final int POSITION = 4;
+    private static final int PID = 8;
+    private static final int HEIGHT = 16;
+    private static final int LEASE_EXPIRY = 24;
+
+    private static FileChannel channel;
+    private static MappedByteBuffer buffer;
+
+    private NotificationSlotTable() {}
+
+    /**
+     * claims a free slot for a shown notification
+     *
+     * @param screen index of the screen that the notification is shown on
+     * @param position position of the notification
+     * @param height height of the notification
+     * @return index of the claimed slot or -1 if the table is full
+     * @throws IOException file channel exception
+     */
+    public static synchronized int claim(int screen, @NotNull NotificationPosition position, double height) throws IOException {
+        open();
+        var lock = channel.lock(HEADER_SIZE, (long) SLOT_COUNT * SLOT_SIZE, false);
+        try {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                var offset = offsetOf(slot);
+                if (buffer.getInt(offset + STATE) != STATE_FREE)
+                    continue;
+
+                buffer.putInt(offset + POSITION, encodePosition(screen, position));
+                buffer.putLong(offset + PID, NotificationLeases.PID);
+                buffer.putDouble(offset + HEIGHT, height);
+                buffer.putLong(offset + LEASE_EXPIRY, NotificationLeases.newLeaseExpiry());
+                // publish the slot after its content
+                buffer.putInt(offset + STATE, STATE_USED);
+                return slot;
+            }
+        } finally {
+            lock.release();
+        }
+
+        return -1;
+    }
+
+    /**
+     * frees a claimed slot
+     *
+     * @param slot index of the slot
+     * @throws IOException file channel exception
+     */
+    public static synchronized void free(int slot) throws IOException {
+        if (slot < 0 || slot >= SLOT_COUNT)
+            return;
+
+        open();
+        var offset = offsetOf(slot);
+        var lock = channel.lock(offset, SLOT_SIZE, false);
+        try {
+            if (buffer.getLong(offset + PID) == NotificationLeases.PID)
+                buffer.putInt(offset + STATE, STATE_FREE);
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * updates height of a claimed slot
+     *
+     * @param slot index of the slot
+     * @param height new height
+     * @throws IOException file channel exception
+     */
+    public static synchronized void resize(int slot, double height) throws IOException {
+        if (slot < 0 || slot >= SLOT_COUNT)
+            return;
+
+        open();
+        var offset = offsetOf(slot);
+        var lock = channel.lock(offset, SLOT_SIZE, false);
+        try {
+            if (buffer.getLong(offset + PID) == NotificationLeases.PID)
+                buffer.putDouble(offset + HEIGHT, height);
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * total heights of the notifications shown by other processes, keyed by {@link #encodePosition(int, NotificationPosition)}
+     * <br>
+     * slots with an expired lease are ignored
+     *
+     * @return map of the heights
+     * @throws IOException file channel exception
+     */
+    public static synchronized Map<Integer, Double> getForeignHeights() throws IOException {
+        open();
+        var heights = new HashMap<Integer, Double>();
+        var now = System.currentTimeMillis();
+        var lock = channel.lock(HEADER_SIZE, (long) SLOT_COUNT * SLOT_SIZE, true);
+        try {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                var offset = offsetOf(slot);
+                if (buffer.getInt(offset + STATE) == STATE_USED &&
+                        buffer.getLong(offset + PID) != NotificationLeases.PID &&
+                        buffer.getLong(offset + LEASE_EXPIRY) >= now)
+                    heights.merge(buffer.getInt(offset + POSITION), buffer.getDouble(offset + HEIGHT), Double::sum);
+            }
+        } finally {
+            lock.release();
+        }
+
+        return heights;
+    }
+
+    /**
+     * renews the leases of the slots owned by this process and frees the slots
+     * whose process is gone or whose lease is expired
+     *
+     * @param leaseExpiry renewed lease expiry
+     * @throws IOException file channel exception
+     */
+    public static synchronized void compact(long leaseExpiry) throws IOException {
+        open();
+        var now = System.currentTimeMillis();
+        var lock = channel.lock(HEADER_SIZE, (long) SLOT_COUNT * SLOT_SIZE, false);
+        try {
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                var offset = offsetOf(slot);
+                if (buffer.getInt(offset + STATE) != STATE_USED)
+                    continue;
+
+                var pid = buffer.getLong(offset + PID);
+                if (pid == NotificationLeases.PID)
+                    buffer.putLong(offset + LEASE_EXPIRY, leaseExpiry);
+                else if (buffer.getLong(offset + LEASE_EXPIRY) < now || !NotificationLeases.isAlive(pid))
+                    buffer.putInt(offset + STATE, STATE_FREE);
+            }
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * frees every slot owned by this process
+     */
+    private static synchronized void freeAll() {
+        if (buffer == null)
+            return;
+
+        try {
+            var lock = channel.lock(HEADER_SIZE, (long) SLOT_COUNT * SLOT_SIZE, false);
+            try {
+                for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                    var offset = offsetOf(slot);
+                    if (buffer.getLong(offset + PID) == NotificationLeases.PID)
+                        buffer.putInt(offset + STATE, STATE_FREE);
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    static int encodePosition(int screen, NotificationPosition position) {
+        return screen << 8 | position.ordinal();
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static void open() throws IOException {
+        if (buffer != null)
+            return;
+
+        var file = NotificationInfoLogger.getDirectory().resolve("notification-slots.bin").toFile();
+        var randomAccessFile = new RandomAccessFile(file, "rw");
+        var fileChannel = randomAccessFile.getChannel();
+        try {
+            var lock = fileChannel.lock(0, HEADER_SIZE, false);
+            try {
+                if (fileChannel.size() < TABLE_SIZE)
+                    randomAccessFile.setLength(TABLE_SIZE);
+                var mapped = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, TABLE_SIZE);
+                if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION ||
+                        mapped.getInt(8) != SLOT_COUNT || mapped.getInt(12) != SLOT_SIZE) {
+                    // new or incompatible table, start over
+                    for (int i = HEADER_SIZE; i < TABLE_SIZE; i++)
+                        mapped.put(i, (byte) 0);
+                    mapped.putInt(0, MAGIC);
+                    mapped.putInt(4, VERSION);
+                    mapped.putInt(8, SLOT_COUNT);
+                    mapped.putInt(12, SLOT_SIZE);
+                }
+                channel = fileChannel;
+                buffer = mapped;
+                Runtime.getRuntime().addShutdownHook(new Thread(NotificationSlotTable::freeAll, "fxdialogs-notification-slots-shutdown"));
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+}
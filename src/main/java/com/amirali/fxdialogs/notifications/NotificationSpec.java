@@ -0,0 +1,319 @@
+package com.amirali.fxdialogs.notifications;
+
+import com.amirali.fxdialogs.Sounds;
+import javafx.geometry.Insets;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * @author Amir Ali
+ *
+ * immutable description of a SimplePopupNotification
+ * <br>
+ * a spec can be created on any thread and posted to a NotificationCenter,
+ * the notification itself is only created on the JavaFX application thread when it's shown
+ */
+
+public final class NotificationSpec {
+
+    private final String title, message, id, soundPath;
+    private final Sounds sound;
+    private final Duration duration;
+    private final NotificationPosition position;
+    private final ScreenTarget screenTarget;
+    private final Insets margin;
+    private final int priority;
+    private final Window owner;
+
+    private NotificationSpec(Builder builder) {
+        title = builder.title;
+        message = builder.message;
+        id = builder.id;
+        sound = builder.sound;
+        soundPath = builder.soundPath;
+        duration = builder.duration;
+        position = builder.position;
+        screenTarget = builder.screenTarget;
+        margin = builder.margin;
+        priority = builder.priority;
+        owner = builder.owner;
+    }
+
+    /**
+     * title of the notification
+     *
+     * @return String
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * message of the notification
+     *
+     * @return String
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * id of the notification or null if a random id is used
+     *
+     * @return String
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * display duration of the notification
+     *
+     * @return Duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * position of the notification
+     *
+     * @return NotificationPosition
+     */
+    public NotificationPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * the screen that the notification is shown on
+     *
+     * @return ScreenTarget
+     */
+    public ScreenTarget getScreenTarget() {
+        return screenTarget;
+    }
+
+    /**
+     * margin of the notification
+     *
+     * @return Insets
+     */
+    public Insets getMargin() {
+        return margin;
+    }
+
+    /**
+     * priority of the notification in the backlog of the NotificationCenter
+     *
+     * @return int
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * owner window of the notification
+     *
+     * @return Window
+     */
+    public Window getOwner() {
+        return owner;
+    }
+
+    /**
+     * creates the notification described by this spec
+     * <br>
+     * <b>Note:</b> must be called on the JavaFX application thread
+     *
+     * @return SimplePopupNotification
+     */
+    public SimplePopupNotification createNotification() {
+        var notification = new SimplePopupNotification(title, message);
+        applyTo(notification);
+
+        return notification;
+    }
+
+    void applyTo(SimplePopupNotification notification) {
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setDuration(duration);
+        notification.setPosition(position);
+        notification.setScreenTarget(screenTarget);
+        notification.setMargin(margin);
+        if (id != null)
+            notification.setNotificationId(id);
+        if (sound != null)
+            notification.setSound(sound);
+        else if (soundPath != null)
+            notification.setSound(soundPath);
+    }
+
+    /**
+     * NotificationSpec builder
+     */
+    public static class Builder {
+
+        private String title = "", message = "", id, soundPath;
+        private Sounds sound;
+        private Duration duration = Duration.ZERO;
+        private NotificationPosition position = NotificationPosition.BOTTOM_RIGHT;
+        private ScreenTarget screenTarget = ScreenTarget.PRIMARY;
+        private Insets margin = new Insets(0);
+        private int priority;
+        private Window owner;
+
+        /**
+         * creates initial spec with the default values
+         */
+        public Builder() {}
+
+        /**
+         * sets title of the notification
+         *
+         * @param title title
+         * @return Builder
+         */
+        public Builder setTitle(@NotNull String title) {
+            this.title = title;
+
+            return this;
+        }
+
+        /**
+         * sets message of the notification
+         *
+         * @param message message
+         * @return Builder
+         */
+        public Builder setMessage(@NotNull String message) {
+            this.message = message;
+
+            return this;
+        }
+
+        /**
+         * sets id of the notification
+         *
+         * @param id notification id
+         * @return Builder
+         */
+        public Builder setId(@NotNull String id) {
+            this.id = id;
+
+            return this;
+        }
+
+        /**
+         * sets the notification sound from Sounds
+         *
+         * @param sound default notification sounds
+         * @return Builder
+         */
+        public Builder setSound(@NotNull Sounds sound) {
+            this.sound = sound;
+            soundPath = null;
+
+            return this;
+        }
+
+        /**
+         * sets the notification sound from custom file path
+         *
+         * @param path custom file path
+         * @return Builder
+         */
+        public Builder setSound(@NotNull String path) {
+            soundPath = path;
+            sound = null;
+
+            return this;
+        }
+
+        /**
+         * sets display duration of the notification
+         *
+         * @param duration display duration
+         * @return Builder
+         */
+        public Builder setDuration(@NotNull Duration duration) {
+            this.duration = duration;
+
+            return this;
+        }
+
+        /**
+         * sets position of the notification
+         *
+         * @param position NotificationPosition
+         * @return Builder
+         */
+        public Builder setPosition(@NotNull NotificationPosition position) {
+            this.position = position;
+
+            return this;
+        }
+
+        /**
+         * sets the screen that the notification is shown on
+         *
+         * @param screenTarget ScreenTarget
+         * @return Builder
+         */
+        public Builder setScreenTarget(@NotNull ScreenTarget screenTarget) {
+            this.screenTarget = screenTarget;
+
+            return this;
+        }
+
+        /**
+         * sets margin of the notification
+         *
+         * @param margin margin
+         * @return Builder
+         */
+        public Builder setMargin(@NotNull Insets margin) {
+            this.margin = margin;
+
+            return this;
+        }
+
+        /**
+         * sets priority of the notification in the backlog of the NotificationCenter
+         *
+         * @param priority priority, higher values are shown first
+         * @return Builder
+         */
+        public Builder setPriority(int priority) {
+            this.priority = priority;
+
+            return this;
+        }
+
+        /**
+         * sets owner window of the notification
+         *
+         * @param owner owner window
+         * @return Builder
+         */
+        public Builder setOwner(@NotNull Window owner) {
+            this.owner = owner;
+
+            return this;
+        }
+
+        /**
+         * creates NotificationSpec
+         *
+         * @return NotificationSpec
+         */
+        public NotificationSpec create() {
+            Objects.requireNonNull(owner, "owner cannot be null");
+
+            return new NotificationSpec(this);
+        }
+    }
+}
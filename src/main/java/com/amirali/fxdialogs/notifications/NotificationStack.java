@@ -0,0 +1,176 @@
+package com.amirali.fxdialogs.notifications;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * @author Amir Ali
+ *
+ * layout index of the notifications stacked at one position
+ * <br>
+ * every notification gets a slot in show order and the heights of the slots are kept in a Fenwick tree,
+ * so the offset of any notification is a prefix sum computed in O(log n)
+ * and closing or resizing a notification costs O(log n) plus relayout of the notifications above it
+ *
+ * @param <T> type of the stacked items
+ */
+
+final class NotificationStack<T extends NotificationStack.Item> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] tree = new double[INITIAL_CAPACITY + 1];
+    private Item[] items = new Item[INITIAL_CAPACITY];
+    private int size, count;
+
+    /**
+     * adds an item on top of the stack
+     *
+     * @param item stacked item
+     */
+    void add(T item) {
+        if (size == items.length)
+            compact();
+
+        item.slot = size++;
+        items[item.slot] = item;
+        update(item.slot, item.height);
+        count++;
+    }
+
+    /**
+     * removes an item from the stack
+     *
+     * @param item stacked item
+     */
+    void remove(T item) {
+        if (item.slot == -1 || items[item.slot] != item)
+            return;
+
+        update(item.slot, -item.height);
+        items[item.slot] = null;
+        item.slot = -1;
+        count--;
+
+        if (count == 0)
+            clear();
+    }
+
+    /**
+     * updates height of an item
+     *
+     * @param item stacked item
+     * @param height new height
+     */
+    void resize(T item, double height) {
+        if (item.slot == -1 || items[item.slot] != item)
+            return;
+
+        update(item.slot, height - item.height);
+        item.height = height;
+    }
+
+    /**
+     * total height of the items below an item
+     *
+     * @param item stacked item
+     * @return double
+     */
+    double offsetOf(T item) {
+        return item.slot == -1 ? getHeight() : prefixSum(item.slot);
+    }
+
+    /**
+     * total height of the stack
+     *
+     * @return double
+     */
+    double getHeight() {
+        return prefixSum(size);
+    }
+
+    /**
+     * @return number of the items
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * visits the items above an item, bottom to top
+     *
+     * @param item stacked item
+     * @param action visitor
+     */
+    @SuppressWarnings("unchecked")
+    void forEachAbove(T item, Consumer<T> action) {
+        for (int i = item.slot + 1; i < size; i++) {
+            if (items[i] != null)
+                action.accept((T) items[i]);
+        }
+    }
+
+    private double prefixSum(int slot) {
+        var sum = 0.0;
+        for (int i = slot; i > 0; i -= i & -i)
+            sum += tree[i];
+
+        return sum;
+    }
+
+    private void update(int slot, double delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+
+    private void compact() {
+        // reuse the slots of the removed items before growing
+        var newItems = new Item[count <= size / 2 ? items.length : items.length * 2];
+        var newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (items[i] == null)
+                continue;
+
+            items[i].slot = newSize;
+            newItems[newSize++] = items[i];
+        }
+
+        items = newItems;
+        size = newSize;
+        rebuild();
+    }
+
+    private void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        rebuild();
+    }
+
+    private void rebuild() {
+        // O(n) construction, also drops the floating point drift of the updates
+        tree = new double[items.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            if (i <= size)
+                tree[i] += items[i - 1].height;
+            var parent = i + (i & -i);
+            if (parent < tree.length)
+                tree[parent] += tree[i];
+        }
+    }
+
+    /**
+     * item of the stack
+     */
+    static class Item {
+        int slot = -1;
+        double height;
+
+        Item(double height) {
+            this.height = height;
+        }
+
+        double getHeight() {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+
+/**
+ * @author Amir Ali
+ *
+ * "N more" card of the notifications folded by the NotificationCenter
+ */
+
+final class NotificationSummary extends PopupNotification {
+
+    private final Label label = new Label();
+    private Runnable onExpand, onDismiss;
+
+    NotificationSummary() {
+        super(null);
+        setAutoHide(false);
+
+        var expand = new Button("Show");
+        var dismiss = new Button("Dismiss");
+        var container = new HBox(5, label, expand, dismiss);
+
+        container.getStyleClass().add("notification-summary");
+        label.getStyleClass().add("title");
+        expand.getStyleClass().add("expand");
+        dismiss.getStyleClass().add("dismiss");
+
+        container.setAlignment(Pos.CENTER_LEFT);
+        container.setPrefWidth(320);
+        container.setStyle("-fx-padding: 10; -fx-background-color: -fx-background;");
+        HBox.setHgrow(label, Priority.ALWAYS);
+        label.setMaxWidth(Double.MAX_VALUE);
+        expand.setOnAction(event -> {
+            if (onExpand != null)
+                onExpand.run();
+        });
+        dismiss.setOnAction(event -> {
+            if (onDismiss != null)
+                onDismiss.run();
+        });
+
+        getScene().setRoot(container);
+    }
+
+    void setCount(int count) {
+        label.setText(count + " more");
+    }
+
+    void setOnExpand(Runnable onExpand) {
+        this.onExpand = onExpand;
+    }
+
+    void setOnDismiss(Runnable onDismiss) {
+        this.onDismiss = onDismiss;
+    }
+}
@@ -0,0 +1,156 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.beans.InvalidationListener;
+import javafx.scene.Parent;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Amir Ali
+ *
+ * hosts the notifications of every screen corner in one popup window per owner window
+ * <br>
+ * all notifications of a corner share a scene and are laid out by a single NotificationLane,
+ * the popup is fitted to its notifications so the rest of the screen stays clickable.
+ * Like the popups of the notifications it doesn't take the focus and it's hidden with its owner.
+ * The number of windows doesn't grow with the number of notifications.
+ * <br>
+ * <b>Note:</b> must be used on the JavaFX application thread
+ */
+
+public final class OverlayNotificationHost implements NotificationHost {
+
+    private static OverlayNotificationHost instance;
+
+    private final Map<OverlayKey, Overlay> overlays = new HashMap<>();
+
+    private OverlayNotificationHost() {}
+
+    /**
+     * the shared OverlayNotificationHost
+     *
+     * @return OverlayNotificationHost
+     */
+    public static OverlayNotificationHost getInstance() {
+        if (instance == null)
+            instance = new OverlayNotificationHost();
+
+        return instance;
+    }
+
+    @Override
+    public void add(@NotNull PopupNotification notification, @NotNull Parent content) {
+        var screen = NotificationScreens.resolve(notification.getScreenTarget(), notification.getTargetOwner());
+        var key = new OverlayKey(screen, notification.getPosition(), notification.getTargetOwner());
+        notification.getProperties().put(OverlayKey.class, key);
+        overlays.computeIfAbsent(key, Overlay::new).add(content, notification);
+    }
+
+    @Override
+    public void remove(@NotNull PopupNotification notification, @NotNull Parent content) {
+        var key = notification.getProperties().remove(OverlayKey.class);
+        var overlay = overlays.get(key);
+        if (overlay != null && overlay.remove(content))
+            // the overlay keeps its owner window, don't keep it after its last notification
+            overlays.remove(key);
+    }
+
+    /**
+     * number of the overlay windows that are showing
+     *
+     * @return int
+     */
+    public int getOverlayCount() {
+        var count = 0;
+        for (Overlay overlay : overlays.values()) {
+            if (overlay.popup.isShowing())
+                count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * fits the overlays to the current screens
+     */
+    static void relayoutAll() {
+        if (instance == null)
+            return;
+
+        for (Overlay overlay : instance.overlays.values())
+            overlay.fit();
+    }
+
+    private final class Overlay {
+        private final OverlayKey key;
+        private final NotificationLane container;
+        private final Popup popup = new Popup();
+        private final InvalidationListener fitListener = observable -> fit();
+        private boolean fitting;
+
+        private Overlay(OverlayKey key) {
+            this.key = key;
+
+            container = new NotificationLane(key.position());
+            container.getStyleClass().add("notification-overlay");
+            container.setStyle("-fx-background-color: transparent;");
+
+            popup.getContent().add(container);
+            popup.setAutoFix(false);
+            popup.setAutoHide(false);
+            popup.setHideOnEscape(false);
+        }
+
+        private void add(Parent content, PopupNotification notification) {
+            container.add(content, notification.getMargin());
+            content.layoutBoundsProperty().addListener(fitListener);
+
+            if (!popup.isShowing())
+                popup.show(key.owner());
+            fit();
+        }
+
+        /**
+         * @return true if it was the last notification of the overlay
+         */
+        private boolean remove(Parent content) {
+            content.layoutBoundsProperty().removeListener(fitListener);
+            container.remove(content);
+
+            if (container.getChildren().isEmpty()) {
+                popup.hide();
+                return true;
+            }
+            fit();
+            return false;
+        }
+
+        private void fit() {
+            if (fitting || container.getChildren().isEmpty())
+                return;
+
+            fitting = true;
+            try {
+                container.applyCss();
+                var width = container.prefWidth(-1);
+                var height = container.prefHeight(width);
+                var bounds = NotificationScreens.getVisualBounds(key.screen());
+
+                popup.setX(switch (key.position()) {
+                    case BOTTOM_LEFT, TOP_LEFT -> bounds.getMinX();
+                    case BOTTOM_RIGHT, TOP_RIGHT -> bounds.getMaxX() - width;
+                    case CENTER_BOTTOM, CENTER_TOP -> bounds.getMinX() + (bounds.getWidth() - width) / 2;
+                });
+                popup.setY(container.isBottom() ? bounds.getMaxY() - height : bounds.getMinY());
+            } finally {
+                fitting = false;
+            }
+        }
+    }
+
+    private record OverlayKey(int screen, NotificationPosition position, Window owner) {}
+}
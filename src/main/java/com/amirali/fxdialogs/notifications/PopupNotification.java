@@ -1,22 +1,21 @@
 package com.amirali.fxdialogs.notifications;
 
+import com.amirali.fxdialogs.SoundCache;
+import com.amirali.fxdialogs.SoundGovernor;
 import com.amirali.fxdialogs.Sounds;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import com.amirali.fxdialogs.internal.ExpiryScheduler;
 import javafx.beans.property.*;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
+import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.control.PopupControl;
-import javafx.scene.media.AudioClip;
-import javafx.stage.Screen;
+import javafx.stage.Window;
 import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.IOException;
-import java.nio.file.Paths;
-import java.util.Objects;
+import java.util.UUID;
 
 /**
  * @author Amir Ali
@@ -24,48 +23,47 @@ import java.util.Objects;
 
 public class PopupNotification extends PopupControl {
 
+    private static NotificationHost defaultHost;
     private NotificationPosition position = NotificationPosition.BOTTOM_RIGHT;
+    private ScreenTarget screenTarget = ScreenTarget.PRIMARY;
+    private int screen = -1;
     private String soundPath;
-    private Timeline timeline;
+    private ExpiryScheduler.Task expiryTask;
     private final ObjectProperty<Insets> marginProperty = new SimpleObjectProperty<>(new Insets(0));
-    private final ObjectProperty<Duration> durationProperty = new SimpleObjectProperty<>(Duration.ZERO) {
-        @Override
-        public void set(Duration duration) {
-            super.set(duration);
-            timeline = new Timeline(new KeyFrame(duration));
-            timeline.setCycleCount(1);
-            timeline.setOnFinished(event -> {
-                if (isShowing())
-                    hide();
-            });
-            currentTimeProperty.bind(timeline.currentTimeProperty());
-        }
-    }, currentTimeProperty = new SimpleObjectProperty<>(Duration.ZERO);
-    private final StringProperty notificationIdProperty = new SimpleStringProperty();
+    private final ObjectProperty<Duration> durationProperty = new SimpleObjectProperty<>(Duration.ZERO);
+    private ReadOnlyObjectWrapper<Duration> currentTimeProperty;
+    private final StringProperty notificationIdProperty = new SimpleStringProperty(UUID.randomUUID().toString());
+    private NotificationInfo registeredInfo;
+    private NotificationHost host;
+    private Parent hostedContent;
+    private Window hostedOwner;
     private final EventHandler<WindowEvent> shownEvent = windowEvent -> {
         if (soundPath != null) {
-            var player = new AudioClip(soundPath);
-            player.play();
+            SoundGovernor.play(soundPath);
         }
-        applyPosition();
-        marginProperty.addListener((observableValue, oldValue, newValue) -> applyPosition());
-
-        if (timeline != null)
-            timeline.play();
-
-        try {
-            NotificationInfoLogger.save(new NotificationInfo(position, getNotificationId(), getHeight()));
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (hostedContent != null) {
+            // the host lays out the notification
+            startExpiry();
+            return;
         }
+        screen = NotificationScreens.resolve(screenTarget, getOwnerWindow());
+        registeredInfo = new NotificationInfo(position, getNotificationId(), getHeight());
+        var margin = getMargin();
+        var maxHeight = NotificationScreens.getVisualBounds(screen).getHeight() - margin.getTop() - margin.getBottom();
+        NotificationRegistry.register(this, registeredInfo, screen, getWidth() + margin.getLeft() + margin.getRight(), maxHeight);
+        applyPosition();
+        startExpiry();
     }, hiddenEvent = windowEvent -> {
-        if (timeline != null && currentTimeProperty.get().lessThan(durationProperty.get()))
-            timeline.stop();
-        try {
-            NotificationInfoLogger.removeIf(new NotificationInfo(position, getNotificationId(), getHeight()));
-        } catch (IOException e) {
-            e.printStackTrace();
+        if (expiryTask != null && expiryTask.isPending()) {
+            expiryTask.cancel();
+            if (currentTimeProperty != null)
+                currentTimeProperty.set(Duration.ZERO);
+        }
+        if (registeredInfo != null) {
+            NotificationRegistry.unregister(this, registeredInfo);
+            registeredInfo = null;
         }
+        screen = -1;
     };
 
     /**
@@ -76,9 +74,7 @@ public class PopupNotification extends PopupControl {
     public PopupNotification(Parent root) {
         if (root != null)
             getScene().setRoot(root);
-        setAutoHide(true);
-        addEventHandler(WindowEvent.WINDOW_SHOWN, shownEvent);
-        addEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenEvent);
+        init();
     }
 
     /**
@@ -91,12 +87,143 @@ public class PopupNotification extends PopupControl {
         if (root != null)
             getScene().setRoot(root);
         setDuration(duration);
+        init();
+    }
+
+    private void init() {
         setAutoHide(true);
         addEventHandler(WindowEvent.WINDOW_SHOWN, shownEvent);
         addEventHandler(WindowEvent.WINDOW_HIDDEN, hiddenEvent);
+        marginProperty.addListener((observableValue, oldValue, newValue) -> {
+            if (isShowing())
+                applyPosition();
+        });
+        // keep the stack in place when the content grows or shrinks
+        heightProperty().addListener((observableValue, oldValue, newValue) -> {
+            if (registeredInfo != null)
+                NotificationRegistry.resize(this, registeredInfo.id(), newValue.doubleValue());
+        });
+    }
+
+    private void startExpiry() {
+        var duration = getDuration();
+        if (duration == null || duration.isIndefinite() || duration.isUnknown() || duration.lessThanOrEqualTo(Duration.ZERO))
+            return;
+
+        expiryTask = ExpiryScheduler.schedule(duration, () -> {
+            if (isDisplayed())
+                hide();
+        });
+        if (currentTimeProperty != null)
+            expiryTask.setElapsedObserver(currentTimeProperty::set);
+    }
+
+    /**
+     * starts the display duration again, e.g. when the notification is repeated
+     */
+    void restartExpiry() {
+        if (!isDisplayed())
+            return;
+
+        if (expiryTask != null)
+            expiryTask.cancel();
+        startExpiry();
+    }
+
+    /**
+     * shows the notification in its NotificationHost or in its own popup window if it doesn't have a host
+     *
+     * @param owner owner window of the notification
+     */
+    @Override
+    public void show(Window owner) {
+        var targetHost = getEffectiveHost();
+        if (targetHost == null) {
+            super.show(owner);
+            return;
+        }
+        if (hostedContent != null)
+            return;
+
+        // a parent can only be the root of one scene, keep a placeholder while the content is hosted
+        hostedContent = getScene().getRoot();
+        hostedOwner = owner;
+        getScene().setRoot(new Group());
+        fireEvent(new WindowEvent(this, WindowEvent.WINDOW_SHOWING));
+        hostedContent.getProperties().put(NotificationHost.class, targetHost);
+        targetHost.add(this, hostedContent);
+        fireEvent(new WindowEvent(this, WindowEvent.WINDOW_SHOWN));
+    }
+
+    /**
+     * hides the notification
+     */
+    @Override
+    public void hide() {
+        if (hostedContent == null) {
+            super.hide();
+            return;
+        }
+
+        var content = hostedContent;
+        fireEvent(new WindowEvent(this, WindowEvent.WINDOW_HIDING));
+        getEffectiveHost(content).remove(this, content);
+        content.getProperties().remove(NotificationHost.class);
+        hostedContent = null;
+        hostedOwner = null;
+        getScene().setRoot(content);
+        fireEvent(new WindowEvent(this, WindowEvent.WINDOW_HIDDEN));
+    }
+
+    /**
+     * @return true if the notification is showing in its own popup window or in a NotificationHost
+     */
+    public boolean isDisplayed() {
+        return isShowing() || hostedContent != null;
+    }
+
+    /**
+     * height of the notification, a hosted notification doesn't lay out its own window so its content is measured
+     *
+     * @return double
+     */
+    double getDisplayedHeight() {
+        return hostedContent != null ? hostedContent.getLayoutBounds().getHeight() : getHeight();
+    }
+
+    /**
+     * owner window of the notification, also while it's shown in a NotificationHost
+     *
+     * @return Window
+     */
+    Window getTargetOwner() {
+        return hostedContent != null ? hostedOwner : getOwnerWindow();
+    }
+
+    private NotificationHost getEffectiveHost() {
+        return host != null ? host : defaultHost;
+    }
+
+    private NotificationHost getEffectiveHost(Parent content) {
+        // the host may be changed while the notification is shown, remove the content from the host that has it
+        var hostOfContent = (NotificationHost) content.getProperties().get(NotificationHost.class);
+        return hostOfContent != null ? hostOfContent : getEffectiveHost();
+    }
+
+    /**
+     * restores the defaults of a hidden notification so it can be reused
+     */
+    void reset() {
+        position = NotificationPosition.BOTTOM_RIGHT;
+        screenTarget = ScreenTarget.PRIMARY;
+        host = null;
+        soundPath = null;
+        setMargin(new Insets(0));
+        setDuration(Duration.ZERO);
+        setNotificationId(UUID.randomUUID().toString());
     }
 
-    private void applyPosition() {
+    void applyPosition() {
         var delta = calculatePosition();
         setX(delta.x());
         setY(delta.y());
@@ -108,52 +235,100 @@ public class PopupNotification extends PopupControl {
      * @return Delta
      */
     public Delta calculatePosition() {
-        var visualBounds = Screen.getPrimary().getVisualBounds();
-        var notificationsHeight = 0.0;
-        try {
-            var notificationsInfo = NotificationInfoLogger.getNotificationsInfo();
-            if (!notificationsInfo.isEmpty())
-                notificationsHeight = notificationsInfo.stream().filter(
-                        action -> !action.id().equals(getNotificationId()) && action.position() == getPosition()
-                ).mapToDouble(NotificationInfo::height).sum();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // the screen is resolved once when the notification is shown
+        var targetScreen = screen != -1 ? screen : NotificationScreens.resolve(screenTarget, getOwnerWindow());
+        var visualBounds = NotificationScreens.getVisualBounds(targetScreen);
+        // x is the offset of the column, y is the height of the notifications below in the column
+        var offset = NotificationRegistry.getOffset(this, targetScreen, position, getNotificationId());
         var margin = getMargin();
 
+        var left = visualBounds.getMinX() + margin.getLeft() + offset.x();
+        var right = visualBounds.getMaxX() - getWidth() - margin.getRight() - offset.x();
+        var center = visualBounds.getMinX() + (visualBounds.getWidth() - getWidth()) / 2 + offset.x();
+        var top = visualBounds.getMinY() + margin.getTop() + offset.y();
+        var bottom = visualBounds.getMaxY() - getHeight() - margin.getBottom() - offset.y();
+
         return switch (position) {
-            case BOTTOM_RIGHT -> new Delta(
-                    visualBounds.getMinX() + (visualBounds.getWidth() - getWidth()) - margin.getRight(),
-                    (visualBounds.getMinY() + (visualBounds.getHeight() - getHeight()) - margin.getBottom()) - notificationsHeight
-            );
-
-            case BOTTOM_LEFT -> new Delta(
-                    margin.getLeft(),
-                    (visualBounds.getMinY() + (visualBounds.getHeight() - getHeight()) - margin.getBottom()) - notificationsHeight
-            );
-
-            case CENTER_BOTTOM -> new Delta(
-                (visualBounds.getWidth() - getWidth()) / 2,
-                (visualBounds.getMinY() + (visualBounds.getHeight() - getHeight()) - margin.getBottom()) - notificationsHeight
-            );
-
-            case TOP_RIGHT -> new Delta(
-                visualBounds.getMinX() + (visualBounds.getWidth() - getWidth()) - margin.getRight(),
-                margin.getTop() + notificationsHeight
-            );
-
-            case TOP_LEFT -> new Delta(
-                margin.getLeft(),
-                margin.getTop() + notificationsHeight
-            );
-
-            case CENTER_TOP -> new Delta(
-                (visualBounds.getWidth() - getWidth()) / 2,
-                margin.getTop() + notificationsHeight
-            );
+            case BOTTOM_RIGHT -> new Delta(right, bottom);
+            case BOTTOM_LEFT -> new Delta(left, bottom);
+            case CENTER_BOTTOM -> new Delta(center, bottom);
+            case TOP_RIGHT -> new Delta(right, top);
+            case TOP_LEFT -> new Delta(left, top);
+            case CENTER_TOP -> new Delta(center, top);
         };
     }
 
+    /**
+     * enables or disables logging the shown notifications to the NotificationInfoStore,
+     * <b>~/.fxdialogs/notification-logs.json</b> by default
+     * <br>
+     * logging is disabled by default, notifications are stacked from memory either way
+     * and the logs are written behind on a background thread
+     *
+     * @param enabled logging state
+     */
+    public static void setNotificationLogging(boolean enabled) {
+        NotificationRegistry.setMirrorEnabled(enabled);
+    }
+
+    /**
+     * @return true if the shown notifications are logged to the json file
+     */
+    public static boolean isNotificationLogging() {
+        return NotificationRegistry.isMirrorEnabled();
+    }
+
+    /**
+     * sets the store that the notification logs are written to
+     * <br>
+     * the first store provided through ServiceLoader is used by default, otherwise a JsonNotificationInfoStore
+     *
+     * @param store NotificationInfoStore
+     */
+    public static void setNotificationInfoStore(@NotNull NotificationInfoStore store) {
+        NotificationInfoLogger.setStore(store);
+    }
+
+    /**
+     * the store that the notification logs are written to
+     *
+     * @return NotificationInfoStore
+     */
+    public static NotificationInfoStore getNotificationInfoStore() {
+        return NotificationInfoLogger.getStore();
+    }
+
+    /**
+     * waits until the pending notification logs are written to the NotificationInfoStore
+     * <br>
+     * the logs are also flushed by a shutdown hook when the JVM exits
+     *
+     * @param timeout maximum time to wait
+     * @return true if the logs are written before timeout
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public static boolean flushNotificationLogs(@NotNull Duration timeout) throws InterruptedException {
+        return NotificationInfoLogger.flush((long) timeout.toMillis());
+    }
+
+    /**
+     * enables or disables stacking the notifications with the notifications of other processes
+     * <br>
+     * enabled by default, the shown notifications are shared through a memory-mapped slot table in <b>~/.fxdialogs</b>
+     *
+     * @param enabled stacking state
+     */
+    public static void setCrossProcessStacking(boolean enabled) {
+        NotificationRegistry.setCrossProcessEnabled(enabled);
+    }
+
+    /**
+     * @return true if the notifications are stacked with the notifications of other processes
+     */
+    public static boolean isCrossProcessStacking() {
+        return NotificationRegistry.isCrossProcessEnabled();
+    }
+
     /**
      * sets position of the PopupNotification on the screen
      *
@@ -172,6 +347,61 @@ public class PopupNotification extends PopupControl {
         return position;
     }
 
+    /**
+     * sets the host that the notification is shown in instead of its own popup window
+     *
+     * @param host NotificationHost or null to use the default host
+     */
+    public void setHost(NotificationHost host) {
+        this.host = host;
+    }
+
+    /**
+     * the host that the notification is shown in
+     *
+     * @return NotificationHost or null if the default host is used
+     */
+    public NotificationHost getHost() {
+        return host;
+    }
+
+    /**
+     * sets the host of the notifications that don't have their own host,
+     * e.g. OverlayNotificationHost.getInstance() to show every notification of a screen corner in one window
+     *
+     * @param host NotificationHost or null to show notifications in their own popup windows
+     */
+    public static void setDefaultHost(NotificationHost host) {
+        defaultHost = host;
+    }
+
+    /**
+     * the host of the notifications that don't have their own host
+     *
+     * @return NotificationHost or null
+     */
+    public static NotificationHost getDefaultHost() {
+        return defaultHost;
+    }
+
+    /**
+     * sets the screen that the notification is shown on
+     *
+     * @param screenTarget ScreenTarget, PRIMARY by default
+     */
+    public void setScreenTarget(@NotNull ScreenTarget screenTarget) {
+        this.screenTarget = screenTarget;
+    }
+
+    /**
+     * the screen that the notification is shown on
+     *
+     * @return ScreenTarget
+     */
+    public ScreenTarget getScreenTarget() {
+        return screenTarget;
+    }
+
     /**
      * sets margin of the notification
      *
@@ -199,6 +429,23 @@ public class PopupNotification extends PopupControl {
         return marginProperty;
     }
 
+    /**
+     * enables or disables wrapping the stacks of notifications into columns toward the center of the screen
+     * when they reach the visual bounds, enabled by default
+     *
+     * @param enabled wrapping state
+     */
+    public static void setStackWrapping(boolean enabled) {
+        NotificationRegistry.setWrappingEnabled(enabled);
+    }
+
+    /**
+     * @return true if the stacks of notifications wrap into columns
+     */
+    public static boolean isStackWrapping() {
+        return NotificationRegistry.isWrappingEnabled();
+    }
+
     /**
      * sets the notification sound from Sounds and plays when notification is shown
      * <br>
@@ -207,7 +454,7 @@ public class PopupNotification extends PopupControl {
      * @param sound default notification sounds
      */
     public void setSound(@NotNull Sounds sound) {
-        soundPath = Objects.requireNonNull(getClass().getResource("/com/amirali/fxdialogs/sounds/" + sound.getFileName())).toExternalForm();
+        soundPath = SoundCache.uriOf(sound);
     }
 
     /**
@@ -218,7 +465,7 @@ public class PopupNotification extends PopupControl {
      * @param path custom file path
      */
     public void setSound(@NotNull String path) {
-        soundPath = Paths.get(path).toUri().toString();
+        soundPath = SoundCache.uriOf(path);
     }
 
     /**
@@ -256,22 +503,31 @@ public class PopupNotification extends PopupControl {
      * @return Duration
      */
     public Duration getCurrentTime() {
-        return currentTimeProperty.get();
+        return expiryTask != null ? expiryTask.getElapsed() : Duration.ZERO;
     }
 
     /**
      * elapsed duration of the total duration as a read only property
      * <br>
-     * returns zero value if timer isn't started yet
+     * returns zero value if timer isn't started yet.
+     * The property is created on demand and only updated on every pulse once it's requested
      *
      * @return ReadOnlyObjectProperty
      */
     public ReadOnlyObjectProperty<Duration> currentTimeProperty() {
-        return currentTimeProperty;
+        if (currentTimeProperty == null) {
+            currentTimeProperty = new ReadOnlyObjectWrapper<>(this, "currentTime", getCurrentTime());
+            if (expiryTask != null && expiryTask.isPending())
+                expiryTask.setElapsedObserver(currentTimeProperty::set);
+        }
+
+        return currentTimeProperty.getReadOnlyProperty();
     }
 
     /**
      * sets id of the notification
+     * <br>
+     * a random id is assigned by default
      *
      * @param id id of the notification
      */
@@ -0,0 +1,11 @@
+package com.amirali.fxdialogs.notifications;
+
+/**
+ * @author Amir Ali
+ *
+ * screens that PopupNotification can be shown on
+ */
+
+public enum ScreenTarget {
+    PRIMARY, OWNER, MOUSE
+}
@@ -1,6 +1,10 @@
 package com.amirali.fxdialogs.notifications;
 
+import com.amirali.fxdialogs.IconCache;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -19,8 +23,6 @@ import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
-
 /**
  * @author Amir Ali
  */
@@ -28,11 +30,12 @@ import java.util.Objects;
 public class SimplePopupNotification extends PopupNotification {
 
     private final StringProperty titleProperty = new SimpleStringProperty(), messageProperty = new SimpleStringProperty();
-    private final ObjectProperty<Image> closeImageProperty = new SimpleObjectProperty<>(new Image(Objects.requireNonNull(getClass().getResourceAsStream("/com/amirali/fxdialogs/icons/round_close_black_24dp.png"))));
+    private final IntegerProperty countProperty = new SimpleIntegerProperty(1);
+    private final ObjectProperty<Image> closeImageProperty = new SimpleObjectProperty<>(IconCache.get("round_close_black_24dp.png"));
     private final VBox container = new VBox(5);
     private final ImageView icon = new ImageView();
     private final EventHandler<WindowEvent> shownEvent = windowEvent -> {
-        var owner = getOwnerWindow();
+        var owner = getTargetOwner();
         if (owner instanceof Stage ownerStage && !ownerStage.getIcons().isEmpty()) {
             icon.setManaged(true);
             icon.setImage(ownerStage.getIcons().get(0));
@@ -137,6 +140,39 @@ public class SimplePopupNotification extends PopupNotification {
         return messageProperty;
     }
 
+    /**
+     * sets how many times the notification is repeated, shown as "×N" when it's more than one
+     *
+     * @param count repeat count
+     */
+    public void setCount(int count) {
+        countProperty.set(count);
+    }
+
+    /**
+     * how many times the notification is repeated
+     *
+     * @return int
+     */
+    public int getCount() {
+        return countProperty.get();
+    }
+
+    /**
+     * repeat count of the notification as a property
+     *
+     * @return IntegerProperty
+     */
+    public IntegerProperty countProperty() {
+        return countProperty;
+    }
+
+    @Override
+    void reset() {
+        super.reset();
+        setCount(1);
+    }
+
     /**
      * stylesheets of the root node
      *
@@ -159,12 +195,14 @@ public class SimplePopupNotification extends PopupNotification {
         var close = new Button();
         var closeImage = new ImageView();
         var title = new Label();
-        var header = new HBox(3, icon, title, close);
+        var count = new Label();
+        var header = new HBox(3, icon, title, count, close);
         var message = new Label();
 
         container.getStyleClass().add("simple-notification");
         title.getStyleClass().add("title");
         message.getStyleClass().add("message");
+        count.getStyleClass().add("count");
         close.getStyleClass().add("close");
 
         container.setPrefSize(320, 150);
@@ -174,6 +212,9 @@ public class SimplePopupNotification extends PopupNotification {
         title.textProperty().bind(titleProperty);
         HBox.setHgrow(title, Priority.ALWAYS);
         title.setMaxWidth(Double.MAX_VALUE);
+        count.textProperty().bind(Bindings.concat("\u00d7", countProperty));
+        count.visibleProperty().bind(countProperty.greaterThan(1));
+        count.managedProperty().bind(count.visibleProperty());
         closeImage.setFitWidth(30);
         closeImage.setFitHeight(30);
         closeImage.imageProperty().bind(closeImageProperty);
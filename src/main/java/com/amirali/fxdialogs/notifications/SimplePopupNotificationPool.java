@@ -0,0 +1,177 @@
+package com.amirali.fxdialogs.notifications;
+
+import javafx.stage.WindowEvent;
+import javafx.util.Duration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * @author Amir Ali
+ *
+ * recycling pool of SimplePopupNotification, so frequent notifications don't rebuild their scene graph
+ * <br>
+ * notifications acquired from the pool go back to it when they are hidden, they are reset
+ * and reused by the next acquire. Notifications that stay in the pool longer than the idle timeout are evicted.
+ * <br>
+ * <b>Note:</b> don't keep a reference to an acquired notification after it's hidden,
+ * the pool must be used on the JavaFX application thread
+ */
+
+public class SimplePopupNotificationPool {
+
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    // most recently released notification first
+    private final ArrayDeque<Idle> idle = new ArrayDeque<>();
+    private final Set<SimplePopupNotification> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long createdCount, reusedCount;
+
+    /**
+     * initial SimplePopupNotificationPool with 16 notifications and 1 minute idle timeout
+     */
+    public SimplePopupNotificationPool() {
+        this(16, Duration.minutes(1));
+    }
+
+    /**
+     * initial SimplePopupNotificationPool
+     *
+     * @param maxSize maximum number of the idle notifications
+     * @param idleTimeout time after an idle notification is evicted
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public SimplePopupNotificationPool(int maxSize, @NotNull Duration idleTimeout) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("maxSize cannot be negative");
+
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = (long) (idleTimeout.toMillis() * 1_000_000);
+    }
+
+    /**
+     * takes an idle notification or creates a new one
+     *
+     * @param title title
+     * @param message message
+     * @return SimplePopupNotification
+     */
+    public SimplePopupNotification acquire(@NotNull String title, @NotNull String message) {
+        var notification = take();
+        if (notification == null) {
+            notification = create(title, message);
+        }else {
+            notification.setTitle(title);
+            notification.setMessage(message);
+        }
+
+        return notification;
+    }
+
+    /**
+     * takes an idle notification or creates a new one and applies the spec to it
+     *
+     * @param spec NotificationSpec
+     * @return SimplePopupNotification
+     */
+    public SimplePopupNotification acquire(@NotNull NotificationSpec spec) {
+        var notification = take();
+        if (notification == null)
+            notification = create(spec.getTitle(), spec.getMessage());
+        spec.applyTo(notification);
+
+        return notification;
+    }
+
+    /**
+     * number of the idle notifications
+     *
+     * @return int
+     */
+    public int getIdleCount() {
+        evict(System.nanoTime());
+        return idle.size();
+    }
+
+    /**
+     * maximum number of the idle notifications
+     *
+     * @return int
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * number of the notifications created by the pool
+     *
+     * @return long
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * number of the acquires served by an idle notification
+     *
+     * @return long
+     */
+    public long getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * removes every idle notification
+     */
+    public void clear() {
+        for (Idle entry : idle)
+            owned.remove(entry.notification);
+        idle.clear();
+    }
+
+    private SimplePopupNotification take() {
+        evict(System.nanoTime());
+        var entry = idle.pollFirst();
+        if (entry == null)
+            return null;
+
+        reusedCount++;
+        return entry.notification;
+    }
+
+    private SimplePopupNotification create(String title, String message) {
+        var notification = new SimplePopupNotification(title, message);
+        owned.add(notification);
+        notification.addEventHandler(WindowEvent.WINDOW_HIDDEN, windowEvent -> release(notification));
+        createdCount++;
+
+        return notification;
+    }
+
+    private void release(SimplePopupNotification notification) {
+        if (!owned.contains(notification) || notification.isDisplayed())
+            return;
+
+        var now = System.nanoTime();
+        evict(now);
+        if (idle.size() >= maxSize) {
+            // the pool is full, let the notification be collected
+            owned.remove(notification);
+            return;
+        }
+
+        notification.reset();
+        idle.addFirst(new Idle(notification, now));
+    }
+
+    private void evict(long now) {
+        // the oldest notifications are at the end
+        while (!idle.isEmpty() && now - idle.peekLast().releasedAt > idleTimeoutNanos)
+            owned.remove(idle.pollLast().notification);
+    }
+
+    private record Idle(SimplePopupNotification notification, long releasedAt) {}
+}
@@ -5,6 +5,8 @@ module FXDialogs {
     requires java.desktop;
     requires com.google.gson;
 
-    opens com.amirali.fxdialogs.notifications to com.google.gson;
     exports com.amirali.fxdialogs;
+    exports com.amirali.fxdialogs.notifications;
+
+    uses com.amirali.fxdialogs.notifications.NotificationInfoStore;
 }
\ No newline at end of file